@@ -1,8 +1,36 @@
 package de.digitaldevs.npc.core;
 
+import de.digitaldevs.npc.core.adapter.VersionAdapter;
+import de.digitaldevs.npc.core.adapter.VersionAdapterLoader;
 import de.digitaldevs.npc.core.base.AbstractNPC;
+import de.digitaldevs.npc.core.enums.TablistAction;
+import de.digitaldevs.npc.core.events.npc.NPCBulkDestroyEvent;
+import de.digitaldevs.npc.core.network.PacketQueue;
+import de.digitaldevs.npc.core.network.TablistBatcher;
+import de.digitaldevs.npc.core.network.UpdateCoalescer;
+import de.digitaldevs.npc.core.registry.NPCRegistry;
+import de.digitaldevs.npc.core.registry.NPCSpatialIndex;
 import de.digitaldevs.npc.core.registry.Registry;
+import de.digitaldevs.npc.core.skin.HttpTransport;
+import de.digitaldevs.npc.core.skin.MojangSkinSource;
+import de.digitaldevs.npc.core.skin.SkinCache;
+import de.digitaldevs.npc.core.skin.SkinFetcher;
+import de.digitaldevs.npc.core.skin.SkinSource;
 import lombok.Getter;
+import lombok.Setter;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 /**
  * This class is used to access the registry where all NPCs are stored in.
@@ -26,15 +54,336 @@ public class NpcAPI {
      *
      * @see Getter
      */
-    @Getter private final Registry<AbstractNPC> registry;
+    @Getter private final NPCRegistry registry;
+
+    /**
+     * The adapter of the running server's version or {@code null} if none is registered yet
+     *
+     * @since 1.1
+     */
+    private volatile VersionAdapter adapter;
+
+    /**
+     * The spatial index of all spawned NPCs
+     *
+     * @see Getter
+     * @since 1.1
+     */
+    @Getter private final NPCSpatialIndex spatialIndex = new NPCSpatialIndex();
+
+    /**
+     * The queue where the packets of the NPCs are written to until the end of the tick
+     *
+     * @see Getter
+     * @since 1.1
+     */
+    @Getter private final PacketQueue packetQueue = new PacketQueue();
+
+    /**
+     * The coalescer witch collects the movement updates of the NPCs until the end of the tick
+     *
+     * @see Getter
+     * @since 1.1
+     */
+    @Getter private final UpdateCoalescer updateCoalescer = new UpdateCoalescer();
+
+    /**
+     * The batcher witch merges the tablist entries of the NPCs into one packet per viewer
+     *
+     * @see Getter
+     * @since 1.1
+     */
+    @Getter private final TablistBatcher tablistBatcher = new TablistBatcher();
+
+    /**
+     * The cache where the skins of the NPCs are stored
+     *
+     * @see Getter
+     * @since 1.1
+     */
+    @Getter private final SkinCache skinCache = new SkinCache();
+
+    /**
+     * The transport witch sends the HTTP requests of the skin lookups of all NPCs
+     *
+     * @see Getter
+     * @since 1.1
+     */
+    @Getter private final HttpTransport httpTransport = new HttpTransport();
+
+    /**
+     * The fetcher witch loads the skins of the NPCs from Mojang
+     *
+     * @see Getter
+     * @since 1.1
+     */
+    @Getter private final SkinFetcher skinFetcher = new SkinFetcher(this.skinCache, this.httpTransport);
+
+    /**
+     * The source witch is used by {@link AbstractNPC#setSkin(String)} and {@link AbstractNPC#setSkinAsync(String)}. It fetches the skins from
+     * Mojang by default.
+     *
+     * @see Getter
+     * @see Setter
+     * @since 1.1
+     */
+    @Getter @Setter private volatile SkinSource skinSource = new MojangSkinSource(this.skinFetcher);
+
+    /**
+     * The time in milliseconds {@link AbstractNPC#setSkin(String)} waits for a skin before it fails. It is 5 seconds by default.
+     *
+     * @see Getter
+     * @see Setter
+     * @since 1.1
+     */
+    @Getter @Setter private volatile long skinTimeout = 5000L;
+
+    /**
+     * Defines weather the movement, look, status, animation and destroy packets of the NPCs are written directly as bytes by the
+     * {@link de.digitaldevs.npc.core.network.RawPacketCodec} instead of creating the packets of the server. <br>
+     * The bytes skip the packet listeners of other plugins, e.g. ProtocolLib. If a viewer's channel does not use the server's encoder,
+     * e.g. because of ViaVersion, the packets of the server are sent instead. It is disabled by default.
+     *
+     * @see Getter
+     * @see Setter
+     * @since 1.1
+     */
+    @Getter @Setter private volatile boolean rawPackets;
+
+    /**
+     * Defines weather a packet for several players is encoded only once by the {@link de.digitaldevs.npc.core.network.PacketBroadcaster}. <br>
+     * The encoded bytes skip the packet listeners of other plugins, e.g. ProtocolLib. Players whose channel does not use the server's encoder,
+     * e.g. because of ViaVersion, receive the packet itself. It is disabled by default.
+     *
+     * @see Getter
+     * @see Setter
+     * @since 1.1
+     */
+    @Getter @Setter private volatile boolean sharedEncoding;
+
+    /**
+     * Defines weather the skins of joining players are fetched during the {@link org.bukkit.event.player.AsyncPlayerPreLoginEvent}, so NPCs
+     * wearing the skin of a player who just joined find it in the {@link SkinCache}. It is disabled by default.
+     *
+     * @see de.digitaldevs.npc.core.listener.SkinPrefetchListener
+     * @see Getter
+     * @see Setter
+     * @since 1.1
+     */
+    @Getter @Setter private volatile boolean skinPrefetch;
 
     /**
      * Instantiates a new Npc api.
      *
      * @param registry the registry
+     * @param adapter  the adapter of the running server's version or {@code null} if it is registered later. It has to be enabled already.
+     * @see Nullable
      */
-    public NpcAPI(Registry<AbstractNPC> registry) {
+    public NpcAPI(NPCRegistry registry, @Nullable VersionAdapter adapter) {
         api = this;
         this.registry = registry;
+        this.adapter = adapter;
+    }
+
+    /**
+     * Instantiates a new Npc api without an adapter. The adapter is loaded when it is needed the first time. <br>
+     * An {@link NPCRegistry} is used as it is. The NPCs of any other registry are copied into a new {@link NPCRegistry}, because the api
+     * needs the index by entity id.
+     *
+     * @param registry the registry
+     * @deprecated The registry of the api is an {@link NPCRegistry} since 1.1. Use {@link #NpcAPI(NPCRegistry, VersionAdapter)} instead.
+     */
+    @Deprecated
+    public NpcAPI(Registry<AbstractNPC> registry) {
+        this(toNPCRegistry(registry), null);
+    }
+
+    /**
+     * Registers and enables the adapter of the running server's version. <br>
+     * The core can only find the adapters witch are on its own class path. A plugin witch shades the version modules registers the adapter
+     * itself, e.g. with {@code NpcAPI.getApi().registerAdapter(VersionAdapterLoader.load(getClass().getClassLoader()))}.
+     *
+     * @param adapter the adapter. Cannot be null.
+     * @throws IllegalStateException if another adapter is registered already
+     * @see VersionAdapterLoader#load(ClassLoader)
+     * @see NotNull
+     * @since 1.1
+     */
+    public synchronized void registerAdapter(@NotNull VersionAdapter adapter) {
+        if (this.adapter == adapter) return;
+        if (this.adapter != null)
+            throw new IllegalStateException("The adapter for " + this.adapter.getVersion() + " is registered already");
+
+        adapter.enable();
+        this.adapter = adapter;
+    }
+
+    /**
+     * Checks weather an adapter is registered.
+     *
+     * @return {@code true} if NPCs can be created; {@code false} otherwise
+     * @since 1.1
+     */
+    public boolean hasAdapter() {
+        return this.adapter != null;
+    }
+
+    /**
+     * Gets the adapter of the running server's version. If none is registered yet, it is loaded from the class loader of the core.
+     *
+     * @return the adapter
+     * @throws IllegalStateException if no adapter is registered and the core can not find one
+     * @see #registerAdapter(VersionAdapter)
+     * @since 1.1
+     */
+    public VersionAdapter getAdapter() {
+        VersionAdapter adapter = this.adapter;
+        if (adapter != null) return adapter;
+
+        synchronized (this) {
+            if (this.adapter == null) {
+                try {
+                    this.registerAdapter(VersionAdapterLoader.load());
+                } catch (IllegalStateException exception) {
+                    throw new IllegalStateException(exception.getMessage() + ". Register one with NpcAPI#registerAdapter", exception);
+                }
+            }
+            return this.adapter;
+        }
+    }
+
+    /**
+     * Creates a new NPC for the version of the running server.
+     *
+     * @param displayName  the name that will be shown above the NPC's head. Cannot be null.
+     * @param location     the location where the npc will be located. Cannot be null.
+     * @param visibleOnTab defines weather the NPC will be shown on the tablist
+     * @param receiver     the player witch will see the NPC. Cannot be null.
+     * @return the NPC
+     * @see NotNull
+     * @since 1.1
+     */
+    public AbstractNPC createNPC(@NotNull String displayName, @NotNull Location location, boolean visibleOnTab, @NotNull Player receiver) {
+        return this.getAdapter().createNPC(displayName, location, visibleOnTab, receiver);
+    }
+
+    /**
+     * Spawns several NPCs. Each viewer receives a single tablist packet for all of them instead of one per NPC.
+     *
+     * @param npcs the NPCs. Cannot be null.
+     * @see TablistBatcher#spawnAll(Collection)
+     * @see NotNull
+     * @since 1.1
+     */
+    public void spawnAll(@NotNull Collection<AbstractNPC> npcs) {
+        this.tablistBatcher.spawnAll(npcs);
+    }
+
+    /**
+     * Destroys several NPCs at once and calls one {@link NPCBulkDestroyEvent} for all of them. <br>
+     * Each viewer receives one packet witch removes all of its NPCs from the tablist and one packet witch destroys them,
+     * instead of two packets per NPC. NPCs witch are not spawned are ignored.
+     *
+     * @param npcs the NPCs. Cannot be null.
+     * @see NotNull
+     * @since 1.1
+     */
+    public void destroyAll(@NotNull Collection<AbstractNPC> npcs) {
+        List<AbstractNPC> destroyed = new ArrayList<>(npcs.size());
+        Map<Player, List<AbstractNPC>> entries = new LinkedHashMap<>();
+        for (AbstractNPC npc : npcs) {
+            if (!npc.isSpawned()) continue;
+            destroyed.add(npc);
+            for (Player viewer : npc.getViewers())
+                entries.computeIfAbsent(viewer, player -> new ArrayList<>()).add(npc);
+        }
+        if (destroyed.isEmpty()) return;
+
+        VersionAdapter adapter = this.getAdapter();
+        entries.forEach((viewer, viewed) -> {
+            int[] entityIDs = new int[viewed.size()];
+            for (int i = 0; i < entityIDs.length; i++)
+                entityIDs[i] = viewed.get(i).getEntityID();
+
+            adapter.sendTablist(viewer, TablistAction.REMOVE_PLAYER, viewed);
+            adapter.sendDestroy(viewer, entityIDs);
+        });
+
+        for (AbstractNPC npc : destroyed) {
+            npc.markDestroyed();
+            this.registry.unregister(npc);
+            this.spatialIndex.remove(npc);
+        }
+        Bukkit.getPluginManager().callEvent(new NPCBulkDestroyEvent(destroyed));
+    }
+
+    /**
+     * Destroys all spawned NPCs of a world at once.
+     *
+     * @param world the world. Cannot be null.
+     * @see #destroyAll(Collection)
+     * @see NotNull
+     * @since 1.1
+     */
+    public void destroyAll(@NotNull World world) {
+        this.destroyAll(this.spatialIndex.getInWorld(world));
+    }
+
+    /**
+     * Destroys all spawned NPCs witch are seen by a player at once. The NPCs are destroyed for all of their viewers.
+     *
+     * @param viewer the player. Cannot be null.
+     * @see #destroyAll(Collection)
+     * @see NotNull
+     * @since 1.1
+     */
+    public void destroyAll(@NotNull Player viewer) {
+        List<AbstractNPC> npcs = new ArrayList<>();
+        for (AbstractNPC npc : this.registry.getData()) {
+            if (npc.getViewers().contains(viewer)) npcs.add(npc);
+        }
+        this.destroyAll(npcs);
+    }
+
+    /**
+     * Gets a spawned NPC by its entity id.
+     *
+     * @param entityID the entity id of the NPC
+     * @return the NPC or {@code null} if no spawned NPC has this entity id
+     * @see Nullable
+     * @since 1.1
+     */
+    @Nullable
+    public AbstractNPC getNPC(int entityID) {
+        return this.registry.getByEntityID(entityID);
+    }
+
+    /**
+     * Gets a spawned NPC by the unique id of its GameProfile.
+     *
+     * @param uniqueId the unique id of the NPC's GameProfile. Cannot be null.
+     * @return the NPC or {@code null} if no spawned NPC has this unique id
+     * @see NotNull
+     * @see Nullable
+     * @since 1.1
+     */
+    @Nullable
+    public AbstractNPC getNPC(@NotNull UUID uniqueId) {
+        return this.registry.getByUniqueId(uniqueId);
     }
+
+    /**
+     * Converts a registry to an {@link NPCRegistry}.
+     *
+     * @param registry the registry
+     * @return the registry itself if it is an {@link NPCRegistry}; a new {@link NPCRegistry} containing its NPCs otherwise
+     */
+    private static NPCRegistry toNPCRegistry(Registry<AbstractNPC> registry) {
+        if (registry instanceof NPCRegistry) return (NPCRegistry) registry;
+
+        NPCRegistry npcRegistry = new NPCRegistry();
+        registry.getData().forEach(npcRegistry::register);
+        return npcRegistry;
+    }
+
 }
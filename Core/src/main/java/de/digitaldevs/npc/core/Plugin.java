@@ -1,10 +1,19 @@
 package de.digitaldevs.npc.core;
 
+import de.digitaldevs.npc.core.adapter.VersionAdapterLoader;
+import de.digitaldevs.npc.core.listener.SkinPrefetchListener;
+import de.digitaldevs.npc.core.listener.ViewerListener;
 import de.digitaldevs.npc.core.metrics.NPCMetrics;
-import de.digitaldevs.npc.core.registry.Registry;
+import de.digitaldevs.npc.core.registry.NPCRegistry;
+import de.digitaldevs.npc.core.skin.ChainSkinSource;
+import de.digitaldevs.npc.core.skin.DirectorySkinSource;
 import lombok.Getter;
 import org.bukkit.plugin.java.JavaPlugin;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.logging.Level;
+
 public class Plugin extends JavaPlugin {
 
     @Getter static Plugin instance;
@@ -13,6 +22,36 @@ public class Plugin extends JavaPlugin {
     public void onEnable() {
         instance = this;
         NPCMetrics.addUsingPlugin(this);
-        new NpcAPI(new Registry<>());
+        NpcAPI api = new NpcAPI(new NPCRegistry(), null);
+        try {
+            api.registerAdapter(VersionAdapterLoader.load());
+        } catch (IllegalStateException exception) {
+            this.getLogger().warning(exception.getMessage() + ". NPCs can not be created until a plugin registers one with NpcAPI#registerAdapter.");
+        }
+        NpcAPI.getApi().getSkinCache().load(this.getSkinCacheFile());
+        NpcAPI.getApi().setSkinSource(new ChainSkinSource(new DirectorySkinSource(new File(this.getDataFolder(), "skins")), NpcAPI.getApi().getSkinSource()));
+        this.getServer().getPluginManager().registerEvents(new ViewerListener(), this);
+        this.getServer().getPluginManager().registerEvents(new SkinPrefetchListener(), this);
+        this.getServer().getScheduler().runTaskTimer(this, NpcAPI.getApi().getUpdateCoalescer(), 1L, 1L);
+        this.getServer().getScheduler().runTaskTimer(this, NpcAPI.getApi().getTablistBatcher(), 1L, 1L);
+        this.getServer().getScheduler().runTaskTimer(this, NpcAPI.getApi().getPacketQueue(), 1L, 1L);
+    }
+
+    @Override
+    public void onDisable() {
+        NpcAPI.getApi().getUpdateCoalescer().run();
+        NpcAPI.getApi().getTablistBatcher().flush();
+        NpcAPI.getApi().getPacketQueue().run();
+        NpcAPI.getApi().getSkinFetcher().shutdown();
+
+        try {
+            NpcAPI.getApi().getSkinCache().save(this.getSkinCacheFile());
+        } catch (IOException exception) {
+            this.getLogger().log(Level.WARNING, "Could not save the skin cache", exception);
+        }
+    }
+
+    private File getSkinCacheFile() {
+        return new File(this.getDataFolder(), "skins.yml");
     }
 }
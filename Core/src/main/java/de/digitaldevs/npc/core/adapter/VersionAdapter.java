@@ -0,0 +1,84 @@
+package de.digitaldevs.npc.core.adapter;
+
+import de.digitaldevs.npc.core.base.AbstractNPC;
+import de.digitaldevs.npc.core.enums.TablistAction;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+
+/**
+ * This interface is implemented once by each version module. It creates the version specific classes of the api. <br>
+ * The implementations are registered in {@code META-INF/services} and loaded by the {@link VersionAdapterLoader}, or registered directly with
+ * {@link de.digitaldevs.npc.core.NpcAPI#registerAdapter(VersionAdapter)}. Only the adapter witch matches the version of the running server is enabled.
+ *
+ * @author MerryChrismas
+ * @author <a href='https://digitaldevs.de'>DigitalDevs.de</a>
+ * @version 1.1
+ * @since 1.1
+ */
+public interface VersionAdapter {
+
+    /**
+     * Gets the version of the server witch is supported by the adapter. <br>
+     * The version is equal to the name of the craftbukkit package, e.g. {@code v1_8_R3}.
+     *
+     * @return the version
+     */
+    String getVersion();
+
+    /**
+     * Resolves all classes, fields and constructors of the server witch are needed by the adapter. <br>
+     * It is called once while the plugin is enabled, so the NPCs do not look them up later.
+     */
+    void enable();
+
+    /**
+     * Creates a new NPC.
+     *
+     * @param displayName  the name that will be shown above the NPC's head. Cannot be null.
+     * @param location     the location where the npc will be located. Cannot be null.
+     * @param visibleOnTab defines weather the NPC will be shown on the tablist
+     * @param receiver     the player witch will see the NPC. Cannot be null.
+     * @return the NPC
+     * @see NotNull
+     */
+    AbstractNPC createNPC(@NotNull String displayName, @NotNull Location location, boolean visibleOnTab, @NotNull Player receiver);
+
+    /**
+     * Starts reading the packets of a player so the interactions with NPCs are handled.
+     *
+     * @param player the player. Cannot be null.
+     * @see NotNull
+     */
+    void inject(@NotNull Player player);
+
+    /**
+     * Stops reading the packets of a player.
+     *
+     * @param player the player. Cannot be null.
+     * @see NotNull
+     */
+    void eject(@NotNull Player player);
+
+    /**
+     * Sends one packet to a player witch modifies the tablist entries of several NPCs.
+     *
+     * @param viewer the player witch should receive the modification. Cannot be null.
+     * @param action the modification that should be performed. Cannot be null.
+     * @param npcs   the NPCs. They have to be created by this adapter. Cannot be null.
+     * @see NotNull
+     */
+    void sendTablist(@NotNull Player viewer, @NotNull TablistAction action, @NotNull Collection<AbstractNPC> npcs);
+
+    /**
+     * Sends one packet to a player witch destroys several entities.
+     *
+     * @param viewer    the player witch should not see the entities anymore. Cannot be null.
+     * @param entityIDs the entity ids. Cannot be null.
+     * @see NotNull
+     */
+    void sendDestroy(@NotNull Player viewer, @NotNull int... entityIDs);
+
+}
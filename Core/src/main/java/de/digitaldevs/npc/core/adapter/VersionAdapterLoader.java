@@ -0,0 +1,59 @@
+package de.digitaldevs.npc.core.adapter;
+
+import org.bukkit.Bukkit;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ServiceLoader;
+
+/**
+ * This class is used for loading the {@link VersionAdapter} of the running server.
+ *
+ * @author MerryChrismas
+ * @author <a href='https://digitaldevs.de'>DigitalDevs.de</a>
+ * @version 1.1
+ * @since 1.1
+ */
+public class VersionAdapterLoader {
+
+    /**
+     * Gets the version of the running server. <br>
+     * The version is equal to the name of the craftbukkit package, e.g. {@code v1_8_R3}.
+     *
+     * @return the version
+     */
+    public static String detectVersion() {
+        final String packageName = Bukkit.getServer().getClass().getPackage().getName();
+        return packageName.substring(packageName.lastIndexOf('.') + 1);
+    }
+
+    /**
+     * Loads the adapter witch supports the version of the running server from the class loader of the core. <br>
+     * The adapter is not enabled yet.
+     *
+     * @return the adapter
+     * @throws IllegalStateException if no adapter supports the version of the running server
+     * @see #load(ClassLoader)
+     */
+    public static VersionAdapter load() {
+        return load(VersionAdapter.class.getClassLoader());
+    }
+
+    /**
+     * Loads the adapter witch supports the version of the running server from a class loader. <br>
+     * A plugin witch shades the version modules passes its own class loader, because the class loader of the core can not see them.
+     * The adapter is not enabled yet.
+     *
+     * @param classLoader the class loader where the adapters are registered in {@code META-INF/services}. Cannot be null.
+     * @return the adapter
+     * @throws IllegalStateException if no adapter supports the version of the running server
+     * @see NotNull
+     */
+    public static VersionAdapter load(@NotNull ClassLoader classLoader) {
+        String version = detectVersion();
+        for (VersionAdapter adapter : ServiceLoader.load(VersionAdapter.class, classLoader)) {
+            if (adapter.getVersion().equals(version)) return adapter;
+        }
+        throw new IllegalStateException("No NPC adapter found for the server version " + version);
+    }
+
+}
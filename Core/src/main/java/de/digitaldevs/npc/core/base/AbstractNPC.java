@@ -1,15 +1,27 @@
 package de.digitaldevs.npc.core.base;
 
+import de.digitaldevs.npc.core.NpcAPI;
 import de.digitaldevs.npc.core.enums.NPCAnimation;
 import de.digitaldevs.npc.core.enums.NPCEquipmentSlot;
 import de.digitaldevs.npc.core.enums.NPCStatus;
+import de.digitaldevs.npc.core.skin.SkinFetcher;
+import de.digitaldevs.npc.core.skin.SkinSource;
 import org.bukkit.Location;
+import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.IOException;
 import java.net.URL;
+import java.util.Collection;
+import java.util.Map;
 import java.util.Scanner;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * This class represents the abstract base of each NPC in this api.
@@ -21,6 +33,66 @@ import java.util.Scanner;
  */
 public interface AbstractNPC {
 
+    /**
+     * The abstract method for getting the NPC's entity id.
+     *
+     * @return the entity id
+     * @since 1.1
+     */
+    int getEntityID();
+
+    /**
+     * The abstract method for getting the unique id of the NPC's GameProfile.
+     *
+     * @return the unique id
+     * @since 1.1
+     */
+    UUID getUniqueId();
+
+    /**
+     * The abstract method for getting the location where the NPC is located. The location is a copy, so changing it does not move the NPC.
+     *
+     * @return the location
+     * @since 1.1
+     */
+    Location getLocation();
+
+    /**
+     * The abstract method for checking weather the NPC is spawned.
+     *
+     * @return {@code true} if the NPC is spawned; {@code false} otherwise
+     * @since 1.1
+     */
+    boolean isSpawned();
+
+    /**
+     * The abstract method for getting the players witch see the NPC.
+     *
+     * @return the viewers of the NPC
+     * @since 1.1
+     */
+    Collection<Player> getViewers();
+
+    /**
+     * The abstract method for letting a player see the NPC. <br>
+     * If the NPC is already spawned only the new viewer receives the packets for spawning it.
+     *
+     * @param viewer the player witch should see the NPC. Cannot be null.
+     * @see NotNull
+     * @since 1.1
+     */
+    void addViewer(@NotNull Player viewer);
+
+    /**
+     * The abstract method for hiding the NPC from a player. <br>
+     * If the NPC is spawned only the removed viewer receives the packets for destroying it.
+     *
+     * @param viewer the player witch should not see the NPC anymore. Cannot be null.
+     * @see NotNull
+     * @since 1.1
+     */
+    void removeViewer(@NotNull Player viewer);
+
     /**
      * The abstract method for spawning the NPC
      *
@@ -36,13 +108,79 @@ public interface AbstractNPC {
     void destroy();
 
     /**
-     * The abstract method for changing the NPC's skin.
+     * The abstract method for marking the NPC as destroyed without sending any packet or calling any event. <br>
+     * It is used by {@link de.digitaldevs.npc.core.NpcAPI#destroyAll(Collection)}, witch sends the packets of many NPCs at once.
+     *
+     * @since 1.1
+     */
+    void markDestroyed();
+
+    /**
+     * Changes the NPC's skin to the skin of a player. The skin is loaded from the {@link NpcAPI#getSkinSource()}, witch is Mojang by default. <br>
+     * <b>Implementation Note: </b>This method blocks the calling thread until the skin was loaded, so called on the main thread it freezes
+     * the server while Mojang is requested. The wait is bounded by {@link NpcAPI#getSkinTimeout()}.
      *
      * @param skinOwner the name of an existing player having the skin at this moment. Cannot be null.
+     * @throws CompletionException if the skin could not be loaded or was not loaded in time
+     * @see SkinSource
      * @see NotNull
      * @since 1.0
+     * @deprecated This method blocks the calling thread. Use {@link #setSkinAsync(String)} instead.
+     */
+    @Deprecated
+    default void setSkin(@NotNull String skinOwner) {
+        NpcAPI api = NpcAPI.getApi();
+        try {
+            this.setSkin(api.getSkinSource().getSkin(skinOwner).get(api.getSkinTimeout(), TimeUnit.MILLISECONDS));
+        } catch (ExecutionException exception) {
+            throw new CompletionException(exception.getCause());
+        } catch (TimeoutException exception) {
+            throw new CompletionException("The skin of " + skinOwner + " was not loaded within " + api.getSkinTimeout() + " milliseconds", exception);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException("Interrupted while loading the skin of " + skinOwner, exception);
+        }
+    }
+
+    /**
+     * Loads the skin of a player from the {@link NpcAPI#getSkinSource()} without blocking and changes the NPC's skin to it.
+     *
+     * @param skinOwner the name of an existing player having the skin at this moment. Cannot be null.
+     * @return the future witch is completed with the skin after it was applied
+     * @see #setSkinAsync(SkinSource, String)
+     * @see NotNull
+     * @since 1.1
+     */
+    default CompletableFuture<SkinData> setSkinAsync(@NotNull String skinOwner) {
+        return this.setSkinAsync(NpcAPI.getApi().getSkinSource(), skinOwner);
+    }
+
+    /**
+     * Loads a skin from a source without blocking and changes the NPC's skin to it. <br>
+     * The skin is applied and the event is called on the main thread after the source completed the future.
+     *
+     * @param source the source where the skin is loaded from. Cannot be null.
+     * @param name   the name of the skin. Cannot be null.
+     * @return the future witch is completed with the skin after it was applied
+     * @see SkinSource
+     * @see NotNull
+     * @since 1.1
+     */
+    default CompletableFuture<SkinData> setSkinAsync(@NotNull SkinSource source, @NotNull String name) {
+        return source.getSkin(name).thenApplyAsync(skinData -> {
+            this.setSkin(skinData);
+            return skinData;
+        }, NpcAPI.getApi().getSkinFetcher().getMainThreadExecutor());
+    }
+
+    /**
+     * The abstract method for changing the NPC's skin to skin data witch is already known. No request is sent, so pre-baked textures are applied directly.
+     *
+     * @param skinData the skin. Cannot be null.
+     * @see NotNull
+     * @since 1.1
      */
-    void setSkin(@NotNull String skinOwner);
+    void setSkin(@NotNull SkinData skinData);
 
     /**
      * The abstract method for playing status effects by the NPC.
@@ -116,6 +254,23 @@ public interface AbstractNPC {
      */
     void equip(@NotNull NPCEquipmentSlot slot, @NotNull ItemStack item);
 
+    /**
+     * The abstract method for equipping the NPC with several items at once. Slots witch already hold an equal item are not sent again.
+     *
+     * @param items the items mapped by the slot where they should be placed into. Cannot be null.
+     * @see NotNull
+     * @since 1.1
+     */
+    void equipAll(@NotNull Map<NPCEquipmentSlot, ItemStack> items);
+
+    /**
+     * The abstract method for sending the movement updates witch were stored while the {@link de.digitaldevs.npc.core.network.UpdateCoalescer} is enabled. <br>
+     * Sends at most one teleport, one look and one head rotation packet and calls the events for the final state.
+     *
+     * @since 1.1
+     */
+    void flushPendingUpdates();
+
     /**
      * Gets the coordinate as an int. <br>
      * <b>Implementation Note: </b>This method is equal in all supported NPC versions in this api.
@@ -157,9 +312,11 @@ public interface AbstractNPC {
      * <b>Implementation Note: </b>This method is equal in all supported NPC versions in this api.
      *
      * @param url the url witch refers to the website
-     * @return the response
+     * @return the response or an empty string if the website could not be reached
      * @since 1.0
+     * @deprecated This method swallows every failure and ignores the rate limit of Mojang. Use the {@link SkinFetcher} instead.
      */
+    @Deprecated
     default String getResponseFromURL(@NotNull String url) {
         StringBuilder text = new StringBuilder();
         try {
@@ -44,7 +44,7 @@ public enum NPCEquipmentSlot {
     /**
      * The slot witch is sued for the helmet
      */
-    HELMET("head", 3);
+    HELMET("head", 4);
 
     /**
      * The name of the slot witch is defined in the EnumItemSlot (supported from minecraft's version 1.9). <br>
@@ -0,0 +1,29 @@
+package de.digitaldevs.npc.core.enums;
+
+/**
+ * This enum is used for ordering the requests of the {@link de.digitaldevs.npc.core.skin.SkinFetcher}. <br>
+ * Requests with a higher priority are started first. Requests with the same priority are started in the order they were made.
+ *
+ * @author MerryChrismas
+ * @author <a href='https://digitaldevs.de'>DigitalDevs.de</a>
+ * @version 1.1
+ * @since 1.1
+ */
+public enum SkinPriority {
+
+    /**
+     * The skin is waited for, e.g. by an NPC witch is shown to a player right now.
+     */
+    HIGH,
+
+    /**
+     * The default priority.
+     */
+    NORMAL,
+
+    /**
+     * The skin is fetched in advance and nobody waits for it.
+     */
+    LOW
+
+}
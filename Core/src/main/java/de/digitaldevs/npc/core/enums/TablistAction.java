@@ -0,0 +1,23 @@
+package de.digitaldevs.npc.core.enums;
+
+/**
+ * This enum is used for modifying the tablist entries of NPCs.
+ *
+ * @author MerryChrismas
+ * @author <a href='https://digitaldevs.de'>DigitalDevs.de</a>
+ * @version 1.1
+ * @since 1.1
+ */
+public enum TablistAction {
+
+    /**
+     * Adds the NPCs to the tablist. The client needs the entry before the NPC is spawned, otherwise it will not be shown.
+     */
+    ADD_PLAYER,
+
+    /**
+     * Removes the NPCs from the tablist.
+     */
+    REMOVE_PLAYER
+
+}
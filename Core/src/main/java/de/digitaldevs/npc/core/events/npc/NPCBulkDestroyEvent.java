@@ -0,0 +1,35 @@
+package de.digitaldevs.npc.core.events.npc;
+
+import de.digitaldevs.npc.core.base.AbstractNPC;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.bukkit.event.Event;
+import org.bukkit.event.HandlerList;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+
+/**
+ * Called once when several NPCs get destroyed at once by {@link de.digitaldevs.npc.core.NpcAPI#destroyAll(Collection)}. <br>
+ * The {@link NPCDestroyEvent} is not called for the NPCs witch are part of this event.
+ *
+ * @author MerryChrismas
+ * @author <a href='https://digitaldevs.de'>DigitalDevs.de</a>
+ * @version 1.1
+ * @see RequiredArgsConstructor
+ * @see Event
+ * @since 1.1
+ */
+@RequiredArgsConstructor
+public class NPCBulkDestroyEvent extends Event {
+
+    @Getter public static final HandlerList HANDLER_LIST = new HandlerList();
+
+    @Getter @NotNull private final Collection<AbstractNPC> npcs;
+
+    @Override
+    public HandlerList getHandlers() {
+        return HANDLER_LIST;
+    }
+
+}
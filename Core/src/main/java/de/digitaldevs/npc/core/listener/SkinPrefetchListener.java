@@ -0,0 +1,45 @@
+package de.digitaldevs.npc.core.listener;
+
+import de.digitaldevs.npc.core.NpcAPI;
+import de.digitaldevs.npc.core.enums.SkinPriority;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
+
+import java.util.UUID;
+
+/**
+ * This class is used for fetching the skins of joining players in advance, so NPCs wearing the skin of a player who just joined find it
+ * in the {@link de.digitaldevs.npc.core.skin.SkinCache}. <br>
+ * The prefetch is opt-in and only happens if {@link NpcAPI#isSkinPrefetch()} is enabled. The login is not delayed, the skin is fetched by
+ * the worker threads of the {@link de.digitaldevs.npc.core.skin.SkinFetcher} while the player joins.
+ *
+ * @author MerryChrismas
+ * @author <a href='https://digitaldevs.de'>DigitalDevs.de</a>
+ * @version 1.1
+ * @see Listener
+ * @since 1.1
+ */
+public class SkinPrefetchListener implements Listener {
+
+    /**
+     * The version of the unique ids witch are assigned by Mojang. Servers in offline mode use other unique ids, witch have no skin.
+     */
+    private static final int MOJANG_UNIQUE_ID_VERSION = 4;
+
+    /**
+     * Fetches the skin of the joining player if the login was allowed. Failures are ignored, the skin is fetched again when it is needed.
+     *
+     * @param event the event
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPreLogin(AsyncPlayerPreLoginEvent event) {
+        NpcAPI api = NpcAPI.getApi();
+        if (!api.isSkinPrefetch() || event.getLoginResult() != AsyncPlayerPreLoginEvent.Result.ALLOWED) return;
+
+        UUID uniqueId = event.getUniqueId();
+        if (uniqueId.version() == MOJANG_UNIQUE_ID_VERSION) api.getSkinFetcher().fetch(uniqueId, SkinPriority.LOW);
+    }
+
+}
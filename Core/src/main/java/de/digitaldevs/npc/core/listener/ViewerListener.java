@@ -0,0 +1,34 @@
+package de.digitaldevs.npc.core.listener;
+
+import de.digitaldevs.npc.core.NpcAPI;
+import de.digitaldevs.npc.core.base.AbstractNPC;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+/**
+ * This class is used for removing players from the viewers of the spawned NPCs when they leave the server.
+ *
+ * @author MerryChrismas
+ * @author <a href='https://digitaldevs.de'>DigitalDevs.de</a>
+ * @version 1.1
+ * @see Listener
+ * @since 1.1
+ */
+public class ViewerListener implements Listener {
+
+    /**
+     * Removes the leaving player from the viewers of each spawned NPC.
+     *
+     * @param event the event
+     */
+    @EventHandler
+    public void onQuit(PlayerQuitEvent event) {
+        Player player = event.getPlayer();
+        for (AbstractNPC npc : NpcAPI.getApi().getRegistry().getData()) {
+            if (npc.getViewers().contains(player)) npc.removeViewer(player);
+        }
+    }
+
+}
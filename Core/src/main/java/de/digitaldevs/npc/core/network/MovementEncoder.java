@@ -0,0 +1,205 @@
+package de.digitaldevs.npc.core.network;
+
+import lombok.Getter;
+import org.bukkit.Location;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * This class is used for encoding the movement of an NPC as relative moves. <br>
+ * It stores the last position witch was sent to the viewers in the fixed-point format of the protocol. A new position is encoded as a delta to that
+ * position if the delta fits into the range of a relative move packet. Otherwise, or after {@link #FULL_TELEPORT_INTERVAL} relative moves, a full
+ * teleport has to be sent so the position on the client can not drift away. <br>
+ * <b>Implementation Note: </b>The encoder is not thread-safe. It is only used from the main thread.
+ *
+ * @author MerryChrismas
+ * @author <a href='https://digitaldevs.de'>DigitalDevs.de</a>
+ * @version 1.1
+ * @since 1.1
+ */
+public class MovementEncoder {
+
+    /**
+     * The amount of relative moves after witch a full teleport is sent to correct the drift
+     */
+    public static final int FULL_TELEPORT_INTERVAL = 400;
+
+    /**
+     * The amount of fixed-point units per block
+     */
+    private final double precision;
+
+    /**
+     * The smallest delta witch can be sent in a relative move
+     */
+    private final long minDelta;
+
+    /**
+     * The largest delta witch can be sent in a relative move
+     */
+    private final long maxDelta;
+
+    /**
+     * Defines weather the last sent position is known to all viewers
+     */
+    private boolean valid;
+
+    /**
+     * The last sent x coordinate in fixed-point units
+     */
+    private long lastX;
+
+    /**
+     * The last sent y coordinate in fixed-point units
+     */
+    private long lastY;
+
+    /**
+     * The last sent z coordinate in fixed-point units
+     */
+    private long lastZ;
+
+    /**
+     * The amount of relative moves since the last full teleport
+     */
+    private int relativeMoves;
+
+    /**
+     * The delta on the x-axis of the last relative move in fixed-point units
+     *
+     * @see Getter
+     */
+    @Getter private long deltaX;
+
+    /**
+     * The delta on the y-axis of the last relative move in fixed-point units
+     *
+     * @see Getter
+     */
+    @Getter private long deltaY;
+
+    /**
+     * The delta on the z-axis of the last relative move in fixed-point units
+     *
+     * @see Getter
+     */
+    @Getter private long deltaZ;
+
+    /**
+     * Instantiates a new MovementEncoder.
+     *
+     * @param precision the amount of fixed-point units per block
+     * @param minDelta  the smallest delta witch can be sent in a relative move
+     * @param maxDelta  the largest delta witch can be sent in a relative move
+     */
+    public MovementEncoder(double precision, long minDelta, long maxDelta) {
+        this.precision = precision;
+        this.minDelta = minDelta;
+        this.maxDelta = maxDelta;
+    }
+
+    /**
+     * Creates a new MovementEncoder for the protocol of 1.8 witch sends the deltas as bytes in 1/32 of a block.
+     *
+     * @return the encoder
+     */
+    public static MovementEncoder legacy() {
+        return new MovementEncoder(32.0D, Byte.MIN_VALUE, Byte.MAX_VALUE);
+    }
+
+    /**
+     * Creates a new MovementEncoder for the protocol since 1.9 witch sends the deltas as shorts in 1/4096 of a block.
+     *
+     * @return the encoder
+     */
+    public static MovementEncoder modern() {
+        return new MovementEncoder(4096.0D, Short.MIN_VALUE, Short.MAX_VALUE);
+    }
+
+    /**
+     * Encodes a new position of the NPC. <br>
+     * If {@code true} is returned the deltas can be read with {@link #getDeltaX()}, {@link #getDeltaY()} and {@link #getDeltaZ()}.
+     * If {@code false} is returned a full teleport has to be sent. In both cases the position is stored as the last sent position.
+     *
+     * @param location the new position. Cannot be null.
+     * @return {@code true} if a relative move can be sent; {@code false} if a full teleport is needed
+     * @see NotNull
+     */
+    public boolean encode(@NotNull Location location) {
+        long x = this.toFixed(location.getX());
+        long y = this.toFixed(location.getY());
+        long z = this.toFixed(location.getZ());
+
+        boolean relative = this.valid && this.relativeMoves < FULL_TELEPORT_INTERVAL
+                && this.fits(x - this.lastX) && this.fits(y - this.lastY) && this.fits(z - this.lastZ);
+
+        if (relative) {
+            this.deltaX = x - this.lastX;
+            this.deltaY = y - this.lastY;
+            this.deltaZ = z - this.lastZ;
+            this.relativeMoves++;
+        } else {
+            this.deltaX = 0;
+            this.deltaY = 0;
+            this.deltaZ = 0;
+            this.relativeMoves = 0;
+        }
+
+        this.lastX = x;
+        this.lastY = y;
+        this.lastZ = z;
+        this.valid = true;
+        return relative;
+    }
+
+    /**
+     * Checks weather the last relative move did not change the position of the NPC.
+     *
+     * @return {@code true} if all deltas are zero; {@code false} otherwise
+     */
+    public boolean isStationary() {
+        return this.deltaX == 0 && this.deltaY == 0 && this.deltaZ == 0;
+    }
+
+    /**
+     * Stores a position witch was sent to all viewers with an absolute packet, e.g. a spawn packet.
+     *
+     * @param location the sent position. Cannot be null.
+     * @see NotNull
+     */
+    public void reset(@NotNull Location location) {
+        this.lastX = this.toFixed(location.getX());
+        this.lastY = this.toFixed(location.getY());
+        this.lastZ = this.toFixed(location.getZ());
+        this.relativeMoves = 0;
+        this.valid = true;
+    }
+
+    /**
+     * Forgets the last sent position so the next movement is sent as a full teleport. <br>
+     * This is used if the viewers may not agree on the position of the NPC, e.g. after a new viewer was added.
+     */
+    public void invalidate() {
+        this.valid = false;
+    }
+
+    /**
+     * Converts a coordinate into fixed-point units.
+     *
+     * @param coordinate the coordinate
+     * @return the coordinate in fixed-point units
+     */
+    private long toFixed(double coordinate) {
+        return (long) Math.floor(coordinate * this.precision);
+    }
+
+    /**
+     * Checks weather a delta fits into a relative move.
+     *
+     * @param delta the delta in fixed-point units
+     * @return {@code true} if the delta fits; {@code false} otherwise
+     */
+    private boolean fits(long delta) {
+        return delta >= this.minDelta && delta <= this.maxDelta;
+    }
+
+}
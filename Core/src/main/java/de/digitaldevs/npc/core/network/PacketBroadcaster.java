@@ -0,0 +1,158 @@
+package de.digitaldevs.npc.core.network;
+
+import de.digitaldevs.npc.core.NpcAPI;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandler;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * This class is used for sending one packet to many players while encoding it only once. <br>
+ * The packet is serialized into a single buffer. Each player's channel receives a duplicate of that buffer witch is written below the
+ * packet encoder, so netty only prepends the length (and compresses or encrypts) per connection. <br>
+ * The duplicates are written through the {@link PacketQueue}, so they are flushed together with the other NPC packets of the tick. <br>
+ * The encoded bytes skip the handler witch is registered as {@value #ENCODER}. They are only written to channels whose encoder is the server's
+ * own encoder. Any other channel, e.g. one where ViaVersion replaced the encoder with a translating one, receives the packet itself.
+ *
+ * @author MerryChrismas
+ * @author <a href='https://digitaldevs.de'>DigitalDevs.de</a>
+ * @version 1.1
+ * @since 1.1
+ */
+public class PacketBroadcaster {
+
+    /**
+     * The name of minecraft's packet encoder in the channel pipeline
+     */
+    public static final String ENCODER = "encoder";
+
+    /**
+     * Encodes a packet once and writes it to the channels witch use the server's encoder. The other channels receive the fallback packet,
+     * so the handlers of other plugins still see and translate it.
+     *
+     * @param channels    the channels witch should receive the packet. Cannot be null.
+     * @param encoderType the class of the server's packet encoder. Cannot be null.
+     * @param packetId    the id of the packet in the play protocol
+     * @param writer      the writer witch serializes the packet's data. Cannot be null.
+     * @param fallback    the packet witch is written to the channels witch use another encoder. Cannot be null.
+     * @throws IOException if the packet could not be serialized
+     * @see NotNull
+     */
+    public static void broadcast(@NotNull Collection<Channel> channels, @NotNull Class<?> encoderType, int packetId, @NotNull PacketWriter writer,
+                                 @NotNull Object fallback) throws IOException {
+        PacketQueue queue = NpcAPI.getApi().getPacketQueue();
+        List<Channel> encoded = new ArrayList<>(channels.size());
+        for (Channel channel : channels) {
+            if (isServerEncoder(channel, encoderType)) encoded.add(channel);
+            else queue.write(channel, fallback);
+        }
+        broadcast(encoded, packetId, writer);
+    }
+
+    /**
+     * Encodes a packet once and writes it to several channels. Each channel has to use the server's encoder, see {@link #canWriteEncoded(Collection, Class)}.
+     *
+     * @param channels the channels witch should receive the packet. Cannot be null.
+     * @param packetId the id of the packet in the play protocol
+     * @param writer   the writer witch serializes the packet's data. Cannot be null.
+     * @throws IOException if the packet could not be serialized
+     * @see NotNull
+     */
+    public static void broadcast(@NotNull Collection<Channel> channels, int packetId, @NotNull PacketWriter writer) throws IOException {
+        if (channels.isEmpty()) return;
+
+        ByteBuf buffer = channels.iterator().next().alloc().buffer();
+        try {
+            writeVarInt(buffer, packetId);
+            writer.write(buffer);
+        } catch (IOException | RuntimeException exception) {
+            buffer.release();
+            throw exception;
+        }
+        broadcast(channels, buffer);
+    }
+
+    /**
+     * Writes an encoded packet to several channels and releases it afterwards. <br>
+     * <b>Implementation Note: </b>Each channel receives a retained duplicate of the buffer. {@code duplicate().retain()} is used instead of
+     * {@code retainedDuplicate()} because older servers ship netty 4.0.
+     *
+     * @param channels the channels witch should receive the packet. Cannot be null.
+     * @param encoded  the packet id followed by the packet's data. Cannot be null.
+     * @see NotNull
+     */
+    public static void broadcast(@NotNull Collection<Channel> channels, @NotNull ByteBuf encoded) {
+        PacketQueue queue = NpcAPI.getApi().getPacketQueue();
+        try {
+            for (Channel channel : channels)
+                queue.writeEncoded(channel, encoded.duplicate().retain());
+        } finally {
+            encoded.release();
+        }
+    }
+
+    /**
+     * Checks weather encoded packets can be written to all of several channels.
+     *
+     * @param channels    the channels. Cannot be null.
+     * @param encoderType the class of the server's packet encoder. Cannot be null.
+     * @return {@code true} if every channel uses the server's encoder; {@code false} otherwise
+     * @see NotNull
+     */
+    public static boolean canWriteEncoded(@NotNull Collection<Channel> channels, @NotNull Class<?> encoderType) {
+        for (Channel channel : channels)
+            if (!isServerEncoder(channel, encoderType)) return false;
+        return true;
+    }
+
+    /**
+     * Checks weather the handler witch is registered as {@value #ENCODER} is the server's own encoder. Handlers witch replaced it, e.g. the
+     * encoder of ViaVersion, are not accepted even if they extend it.
+     *
+     * @param channel     the channel. Cannot be null.
+     * @param encoderType the class of the server's packet encoder. Cannot be null.
+     * @return {@code true} if the channel uses the server's encoder; {@code false} otherwise
+     * @see NotNull
+     */
+    public static boolean isServerEncoder(@NotNull Channel channel, @NotNull Class<?> encoderType) {
+        ChannelHandler encoder = channel.pipeline().get(ENCODER);
+        return encoder != null && encoder.getClass() == encoderType;
+    }
+
+    /**
+     * Writes an int in minecraft's VarInt format.
+     *
+     * @param buffer the buffer. Cannot be null.
+     * @param value  the value
+     * @see NotNull
+     */
+    public static void writeVarInt(@NotNull ByteBuf buffer, int value) {
+        while ((value & -128) != 0) {
+            buffer.writeByte(value & 127 | 128);
+            value >>>= 7;
+        }
+        buffer.writeByte(value);
+    }
+
+    /**
+     * This interface is used for serializing the data of a packet into a buffer.
+     */
+    @FunctionalInterface
+    public interface PacketWriter {
+
+        /**
+         * Writes the data of the packet.
+         *
+         * @param buffer the buffer. Cannot be null.
+         * @throws IOException if the packet could not be serialized
+         * @see NotNull
+         */
+        void write(@NotNull ByteBuf buffer) throws IOException;
+    }
+
+}
@@ -0,0 +1,110 @@
+package de.digitaldevs.npc.core.network;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import lombok.Getter;
+import lombok.Setter;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This class is used for writing NPC packets to the players' channels and flushing each channel only once per tick. <br>
+ * While batching is enabled the packets are only written during the tick. {@link #run()} is scheduled every tick and flushes each channel
+ * witch received a packet since the last run, so several packets to one player cost a single flush. <br>
+ * Latency-critical packets can be written immediately with {@link #write(Channel, Object, boolean)}.
+ *
+ * @author MerryChrismas
+ * @author <a href='https://digitaldevs.de'>DigitalDevs.de</a>
+ * @version 1.1
+ * @see Runnable
+ * @since 1.1
+ */
+public class PacketQueue implements Runnable {
+
+    /**
+     * Defines weather packets are batched until the end of the tick. If {@code false} each packet is flushed immediately.
+     *
+     * @see Getter
+     * @see Setter
+     */
+    @Getter @Setter private volatile boolean batching = true;
+
+    /**
+     * The channels witch received packets witch are not flushed yet
+     */
+    private final Set<Channel> pendingChannels = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Writes a packet to a channel. The packet will be flushed with the next run if batching is enabled.
+     *
+     * @param channel the channel of the player. Cannot be null.
+     * @param packet  the packet. Cannot be null.
+     * @see NotNull
+     */
+    public void write(@NotNull Channel channel, @NotNull Object packet) {
+        this.write(channel, packet, false);
+    }
+
+    /**
+     * Writes a packet to a channel.
+     *
+     * @param channel   the channel of the player. Cannot be null.
+     * @param packet    the packet. Cannot be null.
+     * @param immediate {@code true} if the packet should be flushed immediately; {@code false} if it can wait for the end of the tick
+     * @see NotNull
+     */
+    public void write(@NotNull Channel channel, @NotNull Object packet, boolean immediate) {
+        if (immediate || !this.batching) {
+            channel.writeAndFlush(packet, channel.voidPromise());
+            return;
+        }
+
+        channel.write(packet, channel.voidPromise());
+        this.pendingChannels.add(channel);
+    }
+
+    /**
+     * Writes an already encoded packet below the packet encoder of a channel. The channel has to use the server's encoder, see
+     * {@link PacketBroadcaster#isServerEncoder(Channel, Class)}. <br>
+     * The buffer is released by netty after it was written. If the encoder was removed in the meantime because the player disconnected,
+     * the buffer is released right away.
+     *
+     * @param channel the channel of the player. Cannot be null.
+     * @param encoded the packet id followed by the packet's data. Cannot be null.
+     * @see PacketBroadcaster
+     * @see NotNull
+     */
+    public void writeEncoded(@NotNull Channel channel, @NotNull ByteBuf encoded) {
+        ChannelHandlerContext encoder = channel.pipeline().context(PacketBroadcaster.ENCODER);
+        if (encoder == null) {
+            encoded.release();
+            return;
+        }
+
+        if (!this.batching) {
+            encoder.writeAndFlush(encoded, encoder.voidPromise());
+            return;
+        }
+
+        encoder.write(encoded, encoder.voidPromise());
+        this.pendingChannels.add(channel);
+    }
+
+    /**
+     * Flushes every channel witch received a packet since the last run.
+     */
+    @Override
+    public void run() {
+        Iterator<Channel> iterator = this.pendingChannels.iterator();
+        while (iterator.hasNext()) {
+            Channel channel = iterator.next();
+            iterator.remove();
+            channel.flush();
+        }
+    }
+
+}
@@ -0,0 +1,35 @@
+package de.digitaldevs.npc.core.network;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * This enum contains the layouts of the NPC packets witch differ between the supported versions of the protocol.
+ *
+ * @author MerryChrismas
+ * @author <a href='https://digitaldevs.de'>DigitalDevs.de</a>
+ * @version 1.1
+ * @see AllArgsConstructor
+ * @since 1.1
+ */
+@AllArgsConstructor
+public enum ProtocolLayout {
+
+    /**
+     * The layout of 1.8. Positions are fixed-point ints and relative moves are bytes.
+     */
+    V1_8(true),
+
+    /**
+     * The layout since 1.9. Positions are doubles and relative moves are shorts.
+     */
+    V1_9(false);
+
+    /**
+     * Defines weather positions are sent as fixed-point ints in 1/32 of a block
+     *
+     * @see Getter
+     */
+    @Getter private final boolean fixedPointPositions;
+
+}
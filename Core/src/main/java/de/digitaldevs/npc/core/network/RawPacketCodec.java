@@ -0,0 +1,203 @@
+package de.digitaldevs.npc.core.network;
+
+import de.digitaldevs.npc.core.network.PacketBroadcaster.PacketWriter;
+import io.netty.buffer.ByteBuf;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.ToIntFunction;
+
+/**
+ * This class is used for writing the NPC packets directly into a buffer without creating the packet objects of the server. <br>
+ * Each method writes the data of one packet. The packet id has to be written before, e.g. by {@link PacketBroadcaster#broadcast(java.util.Collection, int, PacketWriter)}
+ * with the id returned by {@link #getPacketID(RawPacketType)}. <br>
+ * The ids are resolved once by the version module because they differ between all versions. The layouts only differ between the
+ * {@link ProtocolLayout}s. <br>
+ * Only the packets witch are sent while an NPC moves, looks, plays an animation or gets destroyed are written here. Spawning, the player
+ * info, the metadata and the equipment contain data witch is serialized by the server, so they are always sent as packets of the server.
+ *
+ * @author MerryChrismas
+ * @author <a href='https://digitaldevs.de'>DigitalDevs.de</a>
+ * @version 1.1
+ * @since 1.1
+ */
+public class RawPacketCodec {
+
+    /**
+     * The layout of the packets
+     *
+     * @see Getter
+     */
+    @Getter private final ProtocolLayout layout;
+
+    /**
+     * The ids of the packets ordered like the {@link RawPacketType}s
+     */
+    private final int[] packetIDs;
+
+    /**
+     * Instantiates a new RawPacketCodec.
+     *
+     * @param layout   the layout of the packets. Cannot be null.
+     * @param resolver the function witch resolves the id of each packet in the play protocol. Cannot be null.
+     * @see NotNull
+     */
+    public RawPacketCodec(@NotNull ProtocolLayout layout, @NotNull ToIntFunction<RawPacketType> resolver) {
+        this.layout = layout;
+        this.packetIDs = new int[RawPacketType.values().length];
+        for (RawPacketType type : RawPacketType.values())
+            this.packetIDs[type.ordinal()] = resolver.applyAsInt(type);
+    }
+
+    /**
+     * Gets the id of a packet in the play protocol.
+     *
+     * @param type the type of the packet. Cannot be null.
+     * @return the id of the packet
+     * @see NotNull
+     */
+    public int getPacketID(@NotNull RawPacketType type) {
+        return this.packetIDs[type.ordinal()];
+    }
+
+    /**
+     * Writes a {@link RawPacketType#ENTITY_TELEPORT} packet.
+     *
+     * @param buffer   the buffer. Cannot be null.
+     * @param entityID the entity id of the NPC
+     * @param x        the x coordinate
+     * @param y        the y coordinate
+     * @param z        the z coordinate
+     * @param yaw      the rotation on the x-axis
+     * @param pitch    the rotation on the y-axis
+     * @param onGround {@code true} if the NPC is standing on a solid ground; {@code false} otherwise
+     * @see NotNull
+     */
+    public void writeTeleport(@NotNull ByteBuf buffer, int entityID, double x, double y, double z, byte yaw, byte pitch, boolean onGround) {
+        PacketBroadcaster.writeVarInt(buffer, entityID);
+        this.writePosition(buffer, x, y, z);
+        buffer.writeByte(yaw);
+        buffer.writeByte(pitch);
+        buffer.writeBoolean(onGround);
+    }
+
+    /**
+     * Writes a {@link RawPacketType#ENTITY_LOOK} packet.
+     *
+     * @param buffer   the buffer. Cannot be null.
+     * @param entityID the entity id of the NPC
+     * @param yaw      the rotation on the x-axis
+     * @param pitch    the rotation on the y-axis
+     * @param onGround {@code true} if the NPC is standing on a solid ground; {@code false} otherwise
+     * @see NotNull
+     */
+    public void writeLook(@NotNull ByteBuf buffer, int entityID, byte yaw, byte pitch, boolean onGround) {
+        PacketBroadcaster.writeVarInt(buffer, entityID);
+        buffer.writeByte(yaw);
+        buffer.writeByte(pitch);
+        buffer.writeBoolean(onGround);
+    }
+
+    /**
+     * Writes a {@link RawPacketType#REL_ENTITY_MOVE_LOOK} packet. <br>
+     * The deltas are in the fixed-point units of the layout, e.g. encoded by the {@link MovementEncoder}.
+     *
+     * @param buffer   the buffer. Cannot be null.
+     * @param entityID the entity id of the NPC
+     * @param deltaX   the delta on the x-axis
+     * @param deltaY   the delta on the y-axis
+     * @param deltaZ   the delta on the z-axis
+     * @param yaw      the rotation on the x-axis
+     * @param pitch    the rotation on the y-axis
+     * @param onGround {@code true} if the NPC is standing on a solid ground; {@code false} otherwise
+     * @see NotNull
+     */
+    public void writeRelativeMoveLook(@NotNull ByteBuf buffer, int entityID, long deltaX, long deltaY, long deltaZ, byte yaw, byte pitch, boolean onGround) {
+        PacketBroadcaster.writeVarInt(buffer, entityID);
+        if (this.layout.isFixedPointPositions()) {
+            buffer.writeByte((int) deltaX);
+            buffer.writeByte((int) deltaY);
+            buffer.writeByte((int) deltaZ);
+        } else {
+            buffer.writeShort((int) deltaX);
+            buffer.writeShort((int) deltaY);
+            buffer.writeShort((int) deltaZ);
+        }
+        buffer.writeByte(yaw);
+        buffer.writeByte(pitch);
+        buffer.writeBoolean(onGround);
+    }
+
+    /**
+     * Writes a {@link RawPacketType#ENTITY_HEAD_ROTATION} packet.
+     *
+     * @param buffer   the buffer. Cannot be null.
+     * @param entityID the entity id of the NPC
+     * @param yaw      the rotation of the head on the x-axis
+     * @see NotNull
+     */
+    public void writeHeadRotation(@NotNull ByteBuf buffer, int entityID, byte yaw) {
+        PacketBroadcaster.writeVarInt(buffer, entityID);
+        buffer.writeByte(yaw);
+    }
+
+    /**
+     * Writes a {@link RawPacketType#ENTITY_DESTROY} packet.
+     *
+     * @param buffer    the buffer. Cannot be null.
+     * @param entityIDs the entity ids of the NPCs. Cannot be null.
+     * @see NotNull
+     */
+    public void writeDestroy(@NotNull ByteBuf buffer, @NotNull int... entityIDs) {
+        PacketBroadcaster.writeVarInt(buffer, entityIDs.length);
+        for (int entityID : entityIDs)
+            PacketBroadcaster.writeVarInt(buffer, entityID);
+    }
+
+    /**
+     * Writes a {@link RawPacketType#ANIMATION} packet.
+     *
+     * @param buffer    the buffer. Cannot be null.
+     * @param entityID  the entity id of the NPC
+     * @param animation the index of the animation
+     * @see NotNull
+     */
+    public void writeAnimation(@NotNull ByteBuf buffer, int entityID, int animation) {
+        PacketBroadcaster.writeVarInt(buffer, entityID);
+        buffer.writeByte(animation);
+    }
+
+    /**
+     * Writes a {@link RawPacketType#ENTITY_STATUS} packet.
+     *
+     * @param buffer   the buffer. Cannot be null.
+     * @param entityID the entity id of the NPC
+     * @param status   the index of the status
+     * @see NotNull
+     */
+    public void writeStatus(@NotNull ByteBuf buffer, int entityID, byte status) {
+        buffer.writeInt(entityID);
+        buffer.writeByte(status);
+    }
+
+    /**
+     * Writes a position in the format of the layout.
+     *
+     * @param buffer the buffer
+     * @param x      the x coordinate
+     * @param y      the y coordinate
+     * @param z      the z coordinate
+     */
+    private void writePosition(ByteBuf buffer, double x, double y, double z) {
+        if (this.layout.isFixedPointPositions()) {
+            buffer.writeInt((int) Math.floor(x * 32.0D));
+            buffer.writeInt((int) Math.floor(y * 32.0D));
+            buffer.writeInt((int) Math.floor(z * 32.0D));
+        } else {
+            buffer.writeDouble(x);
+            buffer.writeDouble(y);
+            buffer.writeDouble(z);
+        }
+    }
+
+}
@@ -0,0 +1,21 @@
+package de.digitaldevs.npc.core.network;
+
+/**
+ * This enum contains the packets witch can be written by the {@link RawPacketCodec}.
+ *
+ * @author MerryChrismas
+ * @author <a href='https://digitaldevs.de'>DigitalDevs.de</a>
+ * @version 1.1
+ * @since 1.1
+ */
+public enum RawPacketType {
+
+    ENTITY_TELEPORT,
+    ENTITY_LOOK,
+    REL_ENTITY_MOVE_LOOK,
+    ENTITY_HEAD_ROTATION,
+    ENTITY_DESTROY,
+    ANIMATION,
+    ENTITY_STATUS
+
+}
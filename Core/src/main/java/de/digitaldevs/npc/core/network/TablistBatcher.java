@@ -0,0 +1,145 @@
+package de.digitaldevs.npc.core.network;
+
+import de.digitaldevs.npc.core.NpcAPI;
+import de.digitaldevs.npc.core.adapter.VersionAdapter;
+import de.digitaldevs.npc.core.base.AbstractNPC;
+import de.digitaldevs.npc.core.enums.TablistAction;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This class is used for merging the tablist entries of many NPCs into one packet per viewer. <br>
+ * NPCs witch are not visible on the tablist are removed from it {@link #REMOVE_DELAY} ticks after they were spawned, so the client has
+ * time to load their skin. {@link #run()} is scheduled every tick and sends all removals witch are due in one packet per viewer,
+ * instead of one task and one packet per NPC. <br>
+ * {@link #spawnAll(Collection)} adds all NPCs to the tablist of each viewer with one packet before they are spawned. <br>
+ * <b>Implementation Note: </b>The entries of a single {@link AbstractNPC#spawn()} are still added immediately, because the spawn packet
+ * must not reach the client before the tablist entry.
+ *
+ * @author MerryChrismas
+ * @author <a href='https://digitaldevs.de'>DigitalDevs.de</a>
+ * @version 1.1
+ * @see Runnable
+ * @since 1.1
+ */
+public class TablistBatcher implements Runnable {
+
+    /**
+     * The ticks between the spawn of an NPC and its removal from the tablist
+     */
+    public static final int REMOVE_DELAY = 2;
+
+    /**
+     * The NPCs witch are removed from the tablist of each viewer mapped by the tick the removal is due
+     */
+    private final Map<Long, Map<Player, Set<AbstractNPC>>> pendingRemovals = new HashMap<>();
+
+    /**
+     * The NPCs witch were already added to the tablist of their viewers by {@link #spawnAll(Collection)}
+     */
+    private final Set<AbstractNPC> announced = ConcurrentHashMap.newKeySet();
+
+    /**
+     * The amount of runs since the batcher was created
+     */
+    private long tick;
+
+    /**
+     * Removes an NPC from the tablist of certain players with the run witch is {@link #REMOVE_DELAY} ticks ahead.
+     *
+     * @param npc     the NPC. Cannot be null.
+     * @param viewers the players. Cannot be null.
+     * @see NotNull
+     */
+    public synchronized void scheduleRemoval(@NotNull AbstractNPC npc, @NotNull Collection<Player> viewers) {
+        Map<Player, Set<AbstractNPC>> removals = this.pendingRemovals.computeIfAbsent(this.tick + REMOVE_DELAY, tick -> new LinkedHashMap<>());
+        for (Player viewer : viewers)
+            removals.computeIfAbsent(viewer, player -> new LinkedHashSet<>()).add(npc);
+    }
+
+    /**
+     * Spawns several NPCs. Each viewer receives one packet witch adds all of its NPCs to the tablist before the NPCs are spawned.
+     *
+     * @param npcs the NPCs. Cannot be null.
+     * @see NotNull
+     */
+    public void spawnAll(@NotNull Collection<AbstractNPC> npcs) {
+        Map<Player, List<AbstractNPC>> entries = new LinkedHashMap<>();
+        for (AbstractNPC npc : npcs) {
+            for (Player viewer : npc.getViewers())
+                entries.computeIfAbsent(viewer, player -> new ArrayList<>()).add(npc);
+        }
+        this.send(TablistAction.ADD_PLAYER, entries);
+
+        this.announced.addAll(npcs);
+        try {
+            npcs.forEach(AbstractNPC::spawn);
+        } finally {
+            this.announced.removeAll(npcs);
+        }
+    }
+
+    /**
+     * Checks weather an NPC was already added to the tablist of its viewers by {@link #spawnAll(Collection)}.
+     *
+     * @param npc the NPC. Cannot be null.
+     * @return {@code true} if the NPC does not need to add itself to the tablist; {@code false} otherwise
+     * @see NotNull
+     */
+    public boolean isAnnounced(@NotNull AbstractNPC npc) {
+        return this.announced.contains(npc);
+    }
+
+    /**
+     * Sends all removals witch are due in one packet per viewer.
+     */
+    @Override
+    public void run() {
+        Map<Player, Set<AbstractNPC>> removals;
+        synchronized (this) {
+            removals = this.pendingRemovals.remove(++this.tick);
+        }
+        if (removals != null) this.send(TablistAction.REMOVE_PLAYER, removals);
+    }
+
+    /**
+     * Sends all pending removals, even if they are not due yet.
+     */
+    public void flush() {
+        Map<Player, Set<AbstractNPC>> removals = new LinkedHashMap<>();
+        synchronized (this) {
+            for (Map<Player, Set<AbstractNPC>> pending : this.pendingRemovals.values()) {
+                pending.forEach((viewer, npcs) -> removals.computeIfAbsent(viewer, player -> new LinkedHashSet<>()).addAll(npcs));
+            }
+            this.pendingRemovals.clear();
+        }
+        this.send(TablistAction.REMOVE_PLAYER, removals);
+    }
+
+    /**
+     * Sends one packet per viewer witch modifies the tablist entries of all of its NPCs.
+     *
+     * @param action  the modification that should be performed. Cannot be null.
+     * @param entries the NPCs mapped by the viewer witch should receive the modification. Cannot be null.
+     * @see NotNull
+     */
+    private void send(@NotNull TablistAction action, @NotNull Map<Player, ? extends Collection<AbstractNPC>> entries) {
+        if (entries.isEmpty()) return;
+
+        VersionAdapter adapter = NpcAPI.getApi().getAdapter();
+        entries.forEach((viewer, npcs) -> {
+            if (viewer.isOnline() && !npcs.isEmpty()) adapter.sendTablist(viewer, action, npcs);
+        });
+    }
+
+}
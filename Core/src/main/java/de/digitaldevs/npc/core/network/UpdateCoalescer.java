@@ -0,0 +1,62 @@
+package de.digitaldevs.npc.core.network;
+
+import de.digitaldevs.npc.core.base.AbstractNPC;
+import lombok.Getter;
+import lombok.Setter;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This class is used for coalescing the movement updates of NPCs. <br>
+ * While coalescing is enabled, {@link AbstractNPC#teleport}, {@link AbstractNPC#rotateHead} and {@link AbstractNPC#focusPlayer()} only store
+ * the latest state of the NPC. {@link #run()} is scheduled every tick and lets each changed NPC send at most one movement, one look and one
+ * head rotation packet and call the events for the final state.
+ *
+ * @author MerryChrismas
+ * @author <a href='https://digitaldevs.de'>DigitalDevs.de</a>
+ * @version 1.1
+ * @see Runnable
+ * @since 1.1
+ */
+public class UpdateCoalescer implements Runnable {
+
+    /**
+     * Defines weather movement updates are coalesced. If {@code false} each update is sent immediately.
+     *
+     * @see Getter
+     * @see Setter
+     */
+    @Getter @Setter private volatile boolean enabled;
+
+    /**
+     * The NPCs witch have pending updates
+     */
+    private final Set<AbstractNPC> pendingNPCs = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Marks an NPC as changed so its pending updates are sent with the next run.
+     *
+     * @param npc the NPC. Cannot be null.
+     * @see NotNull
+     */
+    public void markDirty(@NotNull AbstractNPC npc) {
+        this.pendingNPCs.add(npc);
+    }
+
+    /**
+     * Sends the pending updates of each changed NPC.
+     */
+    @Override
+    public void run() {
+        Iterator<AbstractNPC> iterator = this.pendingNPCs.iterator();
+        while (iterator.hasNext()) {
+            AbstractNPC npc = iterator.next();
+            iterator.remove();
+            npc.flushPendingUpdates();
+        }
+    }
+
+}
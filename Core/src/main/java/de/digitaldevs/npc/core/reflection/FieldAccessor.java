@@ -2,18 +2,70 @@ package de.digitaldevs.npc.core.reflection;
 
 import lombok.SneakyThrows;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * This class is used for accessing fields of an object.
+ * This class is used for accessing fields of an object. <br>
+ * <b>Implementation Note: </b>The fields and their handles are looked up once per class and name and cached afterwards,
+ * so repeated accesses only cost the invocation of the handle.
  *
  * @author MerryChrismas
  * @author <a href='https://digitaldevs.de'>DigitalDevs.de</a>
- * @version 1.0
+ * @version 1.1
  * @since 1.0
  */
 public class FieldAccessor {
 
+    /**
+     * The lookup witch is used for creating the handles of the fields
+     */
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    /**
+     * The type of the cached setters. The handles are adapted to it so they can be invoked exactly.
+     */
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    /**
+     * The type of the cached getters. The handles are adapted to it so they can be invoked exactly.
+     */
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    /**
+     * The accessible fields of each class mapped by their name
+     */
+    private static final ClassValue<Map<String, Field>> FIELDS = new ClassValue<Map<String, Field>>() {
+        @Override
+        protected Map<String, Field> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    /**
+     * The setters of each class mapped by the name of their field
+     */
+    private static final ClassValue<Map<String, MethodHandle>> SETTERS = new ClassValue<Map<String, MethodHandle>>() {
+        @Override
+        protected Map<String, MethodHandle> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    /**
+     * The getters of each class mapped by the name of their field
+     */
+    private static final ClassValue<Map<String, MethodHandle>> GETTERS = new ClassValue<Map<String, MethodHandle>>() {
+        @Override
+        protected Map<String, MethodHandle> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
     /**
      * Sets a new value to a specific field.
      *
@@ -24,9 +76,46 @@ public class FieldAccessor {
      */
     @SneakyThrows
     public static void set(Object toModify, String fieldName, Object toSet) {
-        Field field = toModify.getClass().getDeclaredField(fieldName);
-        field.setAccessible(true);
-        field.set(toModify, toSet);
+        getSetter(toModify.getClass(), fieldName).invokeExact(toModify, toSet);
+    }
+
+    /**
+     * Gets an accessible field of a class. <br>
+     * The field can be stored and reused to read or write the value without looking it up again.
+     *
+     * @param clazz     the class where the field is declared
+     * @param fieldName the name of the field (variable's name)
+     * @return the field
+     * @since 1.1
+     */
+    public static Field getField(Class<?> clazz, String fieldName) {
+        return FIELDS.get(clazz).computeIfAbsent(fieldName, name -> findField(clazz, name));
+    }
+
+    /**
+     * Gets the cached setter of a field. <br>
+     * The handle has the type {@code (Object, Object)void}, primitive values are unboxed by it.
+     *
+     * @param clazz     the class where the field is declared
+     * @param fieldName the name of the field (variable's name)
+     * @return the setter of the field
+     * @since 1.1
+     */
+    public static MethodHandle getSetter(Class<?> clazz, String fieldName) {
+        return SETTERS.get(clazz).computeIfAbsent(fieldName, name -> unreflectSetter(getField(clazz, name)));
+    }
+
+    /**
+     * Gets the cached getter of a field. <br>
+     * The handle has the type {@code (Object)Object}, primitive values are boxed by it.
+     *
+     * @param clazz     the class where the field is declared
+     * @param fieldName the name of the field (variable's name)
+     * @return the getter of the field
+     * @since 1.1
+     */
+    public static MethodHandle getGetter(Class<?> clazz, String fieldName) {
+        return GETTERS.get(clazz).computeIfAbsent(fieldName, name -> unreflectGetter(getField(clazz, name)));
     }
 
     /**
@@ -39,9 +128,46 @@ public class FieldAccessor {
      */
     @SneakyThrows
     public static Object get(Object target, String fieldName) {
-        Field field = target.getClass().getDeclaredField(fieldName);
+        return (Object) getGetter(target.getClass(), fieldName).invokeExact(target);
+    }
+
+    /**
+     * Looks up a declared field of a class and makes it accessible.
+     *
+     * @param clazz     the class where the field is declared
+     * @param fieldName the name of the field (variable's name)
+     * @return the field
+     * @see SneakyThrows
+     */
+    @SneakyThrows
+    private static Field findField(Class<?> clazz, String fieldName) {
+        Field field = clazz.getDeclaredField(fieldName);
         field.setAccessible(true);
-        return field.get(target);
+        return field;
+    }
+
+    /**
+     * Creates the setter of a field.
+     *
+     * @param field the accessible field
+     * @return the setter adapted to {@link #SETTER_TYPE}
+     * @see SneakyThrows
+     */
+    @SneakyThrows
+    private static MethodHandle unreflectSetter(Field field) {
+        return LOOKUP.unreflectSetter(field).asType(SETTER_TYPE);
+    }
+
+    /**
+     * Creates the getter of a field.
+     *
+     * @param field the accessible field
+     * @return the getter adapted to {@link #GETTER_TYPE}
+     * @see SneakyThrows
+     */
+    @SneakyThrows
+    private static MethodHandle unreflectGetter(Field field) {
+        return LOOKUP.unreflectGetter(field).asType(GETTER_TYPE);
     }
 
 }
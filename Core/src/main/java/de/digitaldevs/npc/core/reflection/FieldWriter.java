@@ -0,0 +1,119 @@
+package de.digitaldevs.npc.core.reflection;
+
+import lombok.SneakyThrows;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+
+/**
+ * This class is used for writing a single field of an object without boxing its value. <br>
+ * The setter is created once and adapted to the exact type of the field, so {@link #setInt(Object, int)},
+ * {@link #setByte(Object, byte)}, {@link #setDouble(Object, double)} and {@link #setBoolean(Object, boolean)} pass the primitive value
+ * straight to the field. Writers should be stored in static final fields and created once when the class is loaded. <br>
+ * <b>Implementation Note: </b>The packet fields are private, so they can not be targeted by a lambda created with the LambdaMetafactory.
+ * The exactly typed {@link MethodHandle} is the closest access witch works on all supported versions.
+ *
+ * @author MerryChrismas
+ * @author <a href='https://digitaldevs.de'>DigitalDevs.de</a>
+ * @version 1.1
+ * @since 1.1
+ */
+public final class FieldWriter {
+
+    /**
+     * The lookup witch is used for creating the setters
+     */
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    /**
+     * The setter of the field. Its type is {@code (Object, type)void} for primitive fields and {@code (Object, Object)void} otherwise.
+     */
+    private final MethodHandle setter;
+
+    /**
+     * Instantiates a new FieldWriter.
+     *
+     * @param setter the setter of the field
+     */
+    private FieldWriter(MethodHandle setter) {
+        this.setter = setter;
+    }
+
+    /**
+     * Creates a new writer for a field.
+     *
+     * @param clazz     the class where the field is declared
+     * @param fieldName the name of the field (variable's name)
+     * @return the writer
+     * @see SneakyThrows
+     */
+    @SneakyThrows
+    public static FieldWriter of(Class<?> clazz, String fieldName) {
+        Field field = FieldAccessor.getField(clazz, fieldName);
+        Class<?> valueType = field.getType().isPrimitive() ? field.getType() : Object.class;
+        return new FieldWriter(LOOKUP.unreflectSetter(field).asType(MethodType.methodType(void.class, Object.class, valueType)));
+    }
+
+    /**
+     * Sets the value of an int field.
+     *
+     * @param target the object where the field is located
+     * @param value  the new value
+     * @see SneakyThrows
+     */
+    @SneakyThrows
+    public void setInt(Object target, int value) {
+        this.setter.invokeExact(target, value);
+    }
+
+    /**
+     * Sets the value of a byte field.
+     *
+     * @param target the object where the field is located
+     * @param value  the new value
+     * @see SneakyThrows
+     */
+    @SneakyThrows
+    public void setByte(Object target, byte value) {
+        this.setter.invokeExact(target, value);
+    }
+
+    /**
+     * Sets the value of a double field.
+     *
+     * @param target the object where the field is located
+     * @param value  the new value
+     * @see SneakyThrows
+     */
+    @SneakyThrows
+    public void setDouble(Object target, double value) {
+        this.setter.invokeExact(target, value);
+    }
+
+    /**
+     * Sets the value of a boolean field.
+     *
+     * @param target the object where the field is located
+     * @param value  the new value
+     * @see SneakyThrows
+     */
+    @SneakyThrows
+    public void setBoolean(Object target, boolean value) {
+        this.setter.invokeExact(target, value);
+    }
+
+    /**
+     * Sets the value of a field witch is not primitive.
+     *
+     * @param target the object where the field is located
+     * @param value  the new value
+     * @see SneakyThrows
+     */
+    @SneakyThrows
+    public void set(Object target, Object value) {
+        this.setter.invokeExact(target, value);
+    }
+
+}
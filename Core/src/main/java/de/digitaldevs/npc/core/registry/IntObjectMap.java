@@ -0,0 +1,276 @@
+package de.digitaldevs.npc.core.registry;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * This class is an open-addressing hash table witch maps primitive int keys to objects. <br>
+ * <b>Implementation Note: </b>Reads are lock-free and do not allocate, so they can be used from netty threads without boxing the key.
+ * Writes are synchronized. A resize builds a new table and publishes it at once, so readers always see a complete table.
+ *
+ * @param <V> the type of the values
+ * @author MerryChrismas
+ * @author <a href='https://digitaldevs.de'>DigitalDevs.de</a>
+ * @version 1.1
+ * @since 1.1
+ */
+public class IntObjectMap<V> {
+
+    /**
+     * The default amount of slots of a new table
+     */
+    private static final int DEFAULT_CAPACITY = 64;
+
+    /**
+     * The table witch is used by readers. It is only replaced as a whole.
+     */
+    private volatile AtomicReferenceArray<Node<V>> table;
+
+    /**
+     * The amount of mappings with a value
+     */
+    private volatile int size;
+
+    /**
+     * The amount of used slots including removed mappings
+     */
+    private int usedSlots;
+
+    /**
+     * Instantiates a new IntObjectMap.
+     */
+    public IntObjectMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Instantiates a new IntObjectMap.
+     *
+     * @param expectedSize the amount of mappings witch is expected to be stored
+     */
+    public IntObjectMap(int expectedSize) {
+        this.table = new AtomicReferenceArray<>(tableSizeFor(expectedSize * 2));
+    }
+
+    /**
+     * Gets the value mapped to a key.
+     *
+     * @param key the key
+     * @return the value or {@code null} if the key is not mapped
+     * @see Nullable
+     */
+    @Nullable
+    public V get(int key) {
+        AtomicReferenceArray<Node<V>> table = this.table;
+        int mask = table.length() - 1;
+        int index = hash(key) & mask;
+
+        Node<V> node;
+        while ((node = table.get(index)) != null) {
+            if (node.key == key) return node.value;
+            index = (index + 1) & mask;
+        }
+        return null;
+    }
+
+    /**
+     * Maps a value to a key if the key is not mapped yet.
+     *
+     * @param key   the key
+     * @param value the value. Cannot be null.
+     * @return the value witch is already mapped to the key or {@code null} if the new value was mapped
+     * @see NotNull
+     * @see Nullable
+     */
+    @Nullable
+    public synchronized V putIfAbsent(int key, @NotNull V value) {
+        Node<V> node = this.findOrInsert(key);
+        if (node.value != null) return node.value;
+
+        node.value = value;
+        this.size++;
+        return null;
+    }
+
+    /**
+     * Maps a value to a key. A previous value of the key will be replaced.
+     *
+     * @param key   the key
+     * @param value the value. Cannot be null.
+     * @return the previous value or {@code null} if the key was not mapped
+     * @see NotNull
+     * @see Nullable
+     */
+    @Nullable
+    public synchronized V put(int key, @NotNull V value) {
+        Node<V> node = this.findOrInsert(key);
+        V previous = node.value;
+        if (previous == null) this.size++;
+
+        node.value = value;
+        return previous;
+    }
+
+    /**
+     * Removes the mapping of a key.
+     *
+     * @param key the key
+     * @return the removed value or {@code null} if the key was not mapped
+     * @see Nullable
+     */
+    @Nullable
+    public synchronized V remove(int key) {
+        Node<V> node = this.find(key);
+        if (node == null || node.value == null) return null;
+
+        V previous = node.value;
+        node.value = null;
+        this.size--;
+        return previous;
+    }
+
+    /**
+     * Removes the mapping of a key if it is mapped to a certain value.
+     *
+     * @param key   the key
+     * @param value the value witch must be mapped to the key. Cannot be null.
+     * @return {@code true} if the mapping was removed; {@code false} otherwise
+     * @see NotNull
+     */
+    public synchronized boolean remove(int key, @NotNull V value) {
+        Node<V> node = this.find(key);
+        if (node == null || node.value != value) return false;
+
+        node.value = null;
+        this.size--;
+        return true;
+    }
+
+    /**
+     * Gets the amount of mappings.
+     *
+     * @return the amount of mappings
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Finds the slot of a key.
+     *
+     * @param key the key
+     * @return the node of the key or {@code null} if the key never was mapped
+     */
+    private Node<V> find(int key) {
+        AtomicReferenceArray<Node<V>> table = this.table;
+        int mask = table.length() - 1;
+        int index = hash(key) & mask;
+
+        Node<V> node;
+        while ((node = table.get(index)) != null) {
+            if (node.key == key) return node;
+            index = (index + 1) & mask;
+        }
+        return null;
+    }
+
+    /**
+     * Finds the slot of a key or inserts a new slot witch is not mapped to a value yet. <br>
+     * The table is rebuilt before if more than half of its slots are used.
+     *
+     * @param key the key
+     * @return the node of the key
+     */
+    private Node<V> findOrInsert(int key) {
+        Node<V> node = this.find(key);
+        if (node != null) return node;
+
+        if ((this.usedSlots + 1) * 2 > this.table.length()) this.rebuild();
+
+        AtomicReferenceArray<Node<V>> table = this.table;
+        int mask = table.length() - 1;
+        int index = hash(key) & mask;
+        while (table.get(index) != null) index = (index + 1) & mask;
+
+        node = new Node<>(key);
+        table.set(index, node);
+        this.usedSlots++;
+        return node;
+    }
+
+    /**
+     * Builds a new table witch only contains the mappings with a value and publishes it to the readers.
+     */
+    private void rebuild() {
+        AtomicReferenceArray<Node<V>> oldTable = this.table;
+        AtomicReferenceArray<Node<V>> newTable = new AtomicReferenceArray<>(tableSizeFor((this.size + 1) * 4));
+        int mask = newTable.length() - 1;
+        int used = 0;
+
+        for (int i = 0; i < oldTable.length(); i++) {
+            Node<V> node = oldTable.get(i);
+            if (node == null || node.value == null) continue;
+
+            int index = hash(node.key) & mask;
+            while (newTable.get(index) != null) index = (index + 1) & mask;
+            newTable.set(index, node);
+            used++;
+        }
+
+        this.usedSlots = used;
+        this.table = newTable;
+    }
+
+    /**
+     * Spreads the bits of a key so that sequential keys do not end up in neighbouring slots.
+     *
+     * @param key the key
+     * @return the hash of the key
+     */
+    private static int hash(int key) {
+        int hash = key * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Gets the next power of two witch is greater or equal to a size.
+     *
+     * @param size the size
+     * @return the power of two
+     */
+    private static int tableSizeFor(int size) {
+        int capacity = DEFAULT_CAPACITY;
+        while (capacity < size) capacity <<= 1;
+        return capacity;
+    }
+
+    /**
+     * A slot of the table. The key of a slot never changes, a removed mapping keeps its slot with a value of {@code null}.
+     *
+     * @param <V> the type of the value
+     */
+    private static final class Node<V> {
+
+        /**
+         * The key of the slot
+         */
+        private final int key;
+
+        /**
+         * The value of the slot or {@code null} if the mapping was removed
+         */
+        private volatile V value;
+
+        /**
+         * Instantiates a new Node.
+         *
+         * @param key the key of the slot
+         */
+        private Node(int key) {
+            this.key = key;
+        }
+    }
+
+}
@@ -0,0 +1,158 @@
+package de.digitaldevs.npc.core.registry;
+
+import de.digitaldevs.npc.core.base.AbstractNPC;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class is a registry for NPCs witch indexes them by their entity id and by the unique id of their GameProfile. <br>
+ * <b>Implementation Note: </b>The registry is backed by an {@link IntObjectMap} and a concurrent map. It can be read from netty threads while the main thread modifies it.
+ *
+ * @author MerryChrismas
+ * @author <a href='https://digitaldevs.de'>DigitalDevs.de</a>
+ * @version 1.1
+ * @see Registry
+ * @since 1.1
+ */
+public class NPCRegistry extends Registry<AbstractNPC> {
+
+    /**
+     * The last entity id handed out to an NPC. <br>
+     * Counts down from {@link Integer#MAX_VALUE} so the ids never collide with the ones the server assigns to real entities.
+     */
+    private static final AtomicInteger ENTITY_ID_COUNTER = new AtomicInteger(Integer.MAX_VALUE);
+
+    /**
+     * The NPCs mapped by their entity id. <br>
+     * Lookups by entity id come from the netty threads for every clicked entity, so the ids are not boxed.
+     *
+     * @see IntObjectMap
+     */
+    private final IntObjectMap<AbstractNPC> byEntityID = new IntObjectMap<>();
+
+    /**
+     * The NPCs mapped by the unique id of their GameProfile
+     */
+    private final ConcurrentMap<UUID, AbstractNPC> byUniqueId;
+
+    /**
+     * Instantiates a new NPCRegistry.
+     */
+    public NPCRegistry() {
+        this(new ConcurrentHashMap<>());
+    }
+
+    /**
+     * Instantiates a new NPCRegistry witch exposes the values of the unique id map as its data.
+     *
+     * @param byUniqueId the map where the NPCs are stored by the unique id of their GameProfile
+     */
+    private NPCRegistry(ConcurrentMap<UUID, AbstractNPC> byUniqueId) {
+        super(Collections.unmodifiableCollection(byUniqueId.values()));
+        this.byUniqueId = byUniqueId;
+    }
+
+    /**
+     * Returns a new entity id witch is not used by any other NPC.
+     *
+     * @return the entity id
+     * @since 1.1
+     */
+    public static int nextEntityID() {
+        return ENTITY_ID_COUNTER.getAndDecrement();
+    }
+
+    /**
+     * Registers an NPC. Registering the same NPC more than once has no effect.
+     *
+     * @param toRegister the NPC. Cannot be null.
+     * @see NotNull
+     */
+    @Override
+    public void register(@NotNull AbstractNPC toRegister) {
+        if (this.byEntityID.putIfAbsent(toRegister.getEntityID(), toRegister) == null)
+            this.byUniqueId.put(toRegister.getUniqueId(), toRegister);
+    }
+
+    /**
+     * Unregisters an NPC.
+     *
+     * @param toRemove the NPC. Cannot be null.
+     * @see NotNull
+     */
+    @Override
+    public void unregister(@NotNull AbstractNPC toRemove) {
+        if (this.byEntityID.remove(toRemove.getEntityID(), toRemove))
+            this.byUniqueId.remove(toRemove.getUniqueId(), toRemove);
+    }
+
+    /**
+     * Gets the NPC with a certain entity id. <br>
+     * <b>Implementation Note: </b>This method is lock-free and does not allocate.
+     *
+     * @param entityID the entity id of the NPC
+     * @return the NPC or {@code null} if no NPC with this entity id is registered
+     * @see Nullable
+     * @since 1.1
+     */
+    @Nullable
+    public AbstractNPC getByEntityID(int entityID) {
+        return this.byEntityID.get(entityID);
+    }
+
+    /**
+     * Gets the NPC with a certain GameProfile unique id.
+     *
+     * @param uniqueId the unique id of the NPC's GameProfile. Cannot be null.
+     * @return the NPC or {@code null} if no NPC with this unique id is registered
+     * @see NotNull
+     * @see Nullable
+     * @since 1.1
+     */
+    @Nullable
+    public AbstractNPC getByUniqueId(@NotNull UUID uniqueId) {
+        return this.byUniqueId.get(uniqueId);
+    }
+
+    /**
+     * Checks weather an NPC is registered.
+     *
+     * @param npc the NPC. Cannot be null.
+     * @return {@code true} if the NPC is registered; {@code false} otherwise
+     * @see NotNull
+     * @since 1.1
+     */
+    public boolean isRegistered(@NotNull AbstractNPC npc) {
+        return this.byEntityID.get(npc.getEntityID()) == npc;
+    }
+
+    /**
+     * Gets the amount of registered NPCs.
+     *
+     * @return the amount of NPCs
+     * @since 1.1
+     */
+    public int size() {
+        return this.byEntityID.size();
+    }
+
+    /**
+     * Creates a copy of all registered NPCs. <br>
+     * The copy is not affected by NPCs witch are registered or unregistered afterwards.
+     *
+     * @return the copy of the registered NPCs
+     * @since 1.1
+     */
+    public List<AbstractNPC> snapshot() {
+        return new ArrayList<>(this.byUniqueId.values());
+    }
+
+}
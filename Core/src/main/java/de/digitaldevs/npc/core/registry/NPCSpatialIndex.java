@@ -0,0 +1,273 @@
+package de.digitaldevs.npc.core.registry;
+
+import de.digitaldevs.npc.core.base.AbstractNPC;
+import lombok.AllArgsConstructor;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This class is a spatial index witch stores the spawned NPCs of each world in a grid of chunks. <br>
+ * Each chunk is addressed by its x and z coordinate packed into one long. Queries only visit the chunks witch overlap the searched area. <br>
+ * <b>Implementation Note: </b>The index is updated by the NPCs themselves when they spawn, change their location or get destroyed. It stores
+ * a copy of each NPC's position, so the queries neither copy the locations of the NPCs nor see a location witch was not indexed yet.
+ * It can be queried from any thread.
+ *
+ * @author MerryChrismas
+ * @author <a href='https://digitaldevs.de'>DigitalDevs.de</a>
+ * @version 1.1
+ * @since 1.1
+ */
+public class NPCSpatialIndex {
+
+    /**
+     * The NPCs of each world mapped by the key of the chunk they are located in
+     */
+    private final Map<UUID, Map<Long, Set<AbstractNPC>>> worlds = new ConcurrentHashMap<>();
+
+    /**
+     * The cell where each NPC is stored at the moment together with the indexed position
+     */
+    private final Map<AbstractNPC, Cell> cells = new ConcurrentHashMap<>();
+
+    /**
+     * Adds an NPC to the index at its current location. If the NPC is already indexed it is moved instead.
+     *
+     * @param npc the NPC. Cannot be null.
+     * @see NotNull
+     */
+    public synchronized void add(@NotNull AbstractNPC npc) {
+        this.update(npc);
+    }
+
+    /**
+     * Moves an NPC to its current location. The NPC is only moved between the chunks if it left its chunk.
+     *
+     * @param npc the NPC. Cannot be null.
+     * @see NotNull
+     */
+    public synchronized void update(@NotNull AbstractNPC npc) {
+        Location location = npc.getLocation();
+        if (location == null || location.getWorld() == null) {
+            this.remove(npc);
+            return;
+        }
+
+        Cell cell = new Cell(location.getWorld().getUID(), chunkKey(location.getBlockX() >> 4, location.getBlockZ() >> 4),
+                location.getX(), location.getY(), location.getZ());
+        Cell previous = this.cells.put(npc, cell);
+        if (cell.equals(previous)) return;
+
+        if (previous != null) this.removeFromCell(npc, previous);
+        this.worlds.computeIfAbsent(cell.world, world -> new ConcurrentHashMap<>())
+                .computeIfAbsent(cell.chunk, chunk -> ConcurrentHashMap.newKeySet())
+                .add(npc);
+    }
+
+    /**
+     * Removes an NPC from the index.
+     *
+     * @param npc the NPC. Cannot be null.
+     * @see NotNull
+     */
+    public synchronized void remove(@NotNull AbstractNPC npc) {
+        Cell previous = this.cells.remove(npc);
+        if (previous != null) this.removeFromCell(npc, previous);
+    }
+
+    /**
+     * Gets all NPCs in a chunk.
+     *
+     * @param world  the world of the chunk. Cannot be null.
+     * @param chunkX the x coordinate of the chunk
+     * @param chunkZ the z coordinate of the chunk
+     * @return the NPCs in the chunk
+     * @see NotNull
+     */
+    public Set<AbstractNPC> getInChunk(@NotNull World world, int chunkX, int chunkZ) {
+        Map<Long, Set<AbstractNPC>> chunks = this.worlds.get(world.getUID());
+        if (chunks == null) return Collections.emptySet();
+
+        Set<AbstractNPC> npcs = chunks.get(chunkKey(chunkX, chunkZ));
+        return npcs == null ? Collections.emptySet() : Collections.unmodifiableSet(npcs);
+    }
+
+    /**
+     * Gets all NPCs within a radius around a location.
+     *
+     * @param center the center of the sphere. Cannot be null.
+     * @param radius the radius of the sphere in blocks
+     * @return the NPCs within the radius
+     * @see NotNull
+     */
+    public List<AbstractNPC> getNearby(@NotNull Location center, double radius) {
+        List<AbstractNPC> result = new ArrayList<>();
+        Map<Long, Set<AbstractNPC>> chunks = center.getWorld() == null ? null : this.worlds.get(center.getWorld().getUID());
+        if (chunks == null) return result;
+
+        double radiusSquared = radius * radius;
+        int minChunkX = floor(center.getX() - radius) >> 4, maxChunkX = floor(center.getX() + radius) >> 4;
+        int minChunkZ = floor(center.getZ() - radius) >> 4, maxChunkZ = floor(center.getZ() + radius) >> 4;
+
+        for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                Set<AbstractNPC> npcs = chunks.get(chunkKey(chunkX, chunkZ));
+                if (npcs == null) continue;
+
+                for (AbstractNPC npc : npcs) {
+                    Cell cell = this.cells.get(npc);
+                    if (cell == null) continue;
+
+                    double x = cell.x - center.getX();
+                    double y = cell.y - center.getY();
+                    double z = cell.z - center.getZ();
+                    if (x * x + y * y + z * z <= radiusSquared) result.add(npc);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets all NPCs within an axis aligned box.
+     *
+     * @param world the world of the box. Cannot be null.
+     * @param minX  the smallest x coordinate of the box
+     * @param minY  the smallest y coordinate of the box
+     * @param minZ  the smallest z coordinate of the box
+     * @param maxX  the largest x coordinate of the box
+     * @param maxY  the largest y coordinate of the box
+     * @param maxZ  the largest z coordinate of the box
+     * @return the NPCs within the box
+     * @see NotNull
+     */
+    public List<AbstractNPC> getWithin(@NotNull World world, double minX, double minY, double minZ, double maxX, double maxY, double maxZ) {
+        List<AbstractNPC> result = new ArrayList<>();
+        Map<Long, Set<AbstractNPC>> chunks = this.worlds.get(world.getUID());
+        if (chunks == null) return result;
+
+        for (int chunkX = floor(minX) >> 4; chunkX <= floor(maxX) >> 4; chunkX++) {
+            for (int chunkZ = floor(minZ) >> 4; chunkZ <= floor(maxZ) >> 4; chunkZ++) {
+                Set<AbstractNPC> npcs = chunks.get(chunkKey(chunkX, chunkZ));
+                if (npcs == null) continue;
+
+                for (AbstractNPC npc : npcs) {
+                    Cell cell = this.cells.get(npc);
+                    if (cell == null) continue;
+
+                    if (cell.x >= minX && cell.x <= maxX && cell.y >= minY && cell.y <= maxY && cell.z >= minZ && cell.z <= maxZ)
+                        result.add(npc);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets all NPCs in a world.
+     *
+     * @param world the world. Cannot be null.
+     * @return the NPCs in the world
+     * @see NotNull
+     */
+    public List<AbstractNPC> getInWorld(@NotNull World world) {
+        List<AbstractNPC> result = new ArrayList<>();
+        Map<Long, Set<AbstractNPC>> chunks = this.worlds.get(world.getUID());
+        if (chunks != null) chunks.values().forEach(result::addAll);
+        return result;
+    }
+
+    /**
+     * Packs the coordinates of a chunk into one long.
+     *
+     * @param chunkX the x coordinate of the chunk
+     * @param chunkZ the z coordinate of the chunk
+     * @return the key of the chunk
+     */
+    public static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Removes an NPC from a cell and drops the cell if it is empty afterwards.
+     *
+     * @param npc  the NPC
+     * @param cell the cell
+     */
+    private void removeFromCell(AbstractNPC npc, Cell cell) {
+        Map<Long, Set<AbstractNPC>> chunks = this.worlds.get(cell.world);
+        if (chunks == null) return;
+
+        Set<AbstractNPC> npcs = chunks.get(cell.chunk);
+        if (npcs == null) return;
+
+        npcs.remove(npc);
+        if (npcs.isEmpty()) chunks.remove(cell.chunk);
+        if (chunks.isEmpty()) this.worlds.remove(cell.world);
+    }
+
+    /**
+     * Rounds a coordinate down to a block coordinate.
+     *
+     * @param coordinate the coordinate
+     * @return the block coordinate
+     */
+    private static int floor(double coordinate) {
+        return (int) Math.floor(coordinate);
+    }
+
+    /**
+     * The chunk of a world where an NPC is stored. Two cells are equal if they address the same chunk, regardless of the position.
+     *
+     * @see AllArgsConstructor
+     */
+    @AllArgsConstructor
+    private static final class Cell {
+
+        /**
+         * The unique id of the world
+         */
+        private final UUID world;
+
+        /**
+         * The key of the chunk
+         */
+        private final long chunk;
+
+        /**
+         * The x coordinate of the NPC
+         */
+        private final double x;
+
+        /**
+         * The y coordinate of the NPC
+         */
+        private final double y;
+
+        /**
+         * The z coordinate of the NPC
+         */
+        private final double z;
+
+        @Override
+        public boolean equals(Object object) {
+            if (!(object instanceof Cell)) return false;
+            Cell cell = (Cell) object;
+            return this.chunk == cell.chunk && this.world.equals(cell.world);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * this.world.hashCode() + Long.hashCode(this.chunk);
+        }
+    }
+
+}
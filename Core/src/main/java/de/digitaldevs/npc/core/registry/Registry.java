@@ -27,7 +27,17 @@ public class Registry<T> {
      * Instantiates a new Registry.
      */
     public Registry() {
-        this.data = new ArrayList<>();
+        this(new ArrayList<>());
+    }
+
+    /**
+     * Instantiates a new Registry witch stores its data in a specific collection.
+     *
+     * @param data the collection where the data should be stored
+     * @since 1.1
+     */
+    protected Registry(Collection<T> data) {
+        this.data = data;
     }
 
     /**
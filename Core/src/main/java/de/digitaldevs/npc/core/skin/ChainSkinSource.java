@@ -0,0 +1,61 @@
+package de.digitaldevs.npc.core.skin;
+
+import de.digitaldevs.npc.core.base.SkinData;
+import de.digitaldevs.npc.core.skin.SkinFetchException.Reason;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * This class is a source witch asks several sources one after another. The next source is only asked if the previous one failed,
+ * so e.g. Mojang is only requested for the skins witch are missing in a pre-baked skin pack.
+ *
+ * @author MerryChrismas
+ * @author <a href='https://digitaldevs.de'>DigitalDevs.de</a>
+ * @version 1.1
+ * @since 1.1
+ */
+public class ChainSkinSource implements SkinSource {
+
+    /**
+     * The sources in the order they are asked
+     *
+     * @see Getter
+     */
+    @Getter private final List<SkinSource> sources;
+
+    /**
+     * Instantiates a new ChainSkinSource.
+     *
+     * @param sources the sources in the order they are asked. Cannot be null.
+     * @see NotNull
+     */
+    public ChainSkinSource(@NotNull SkinSource... sources) {
+        this.sources = Collections.unmodifiableList(new ArrayList<>(Arrays.asList(sources)));
+    }
+
+    /**
+     * Loads a skin from the first source witch knows it.
+     *
+     * @param name the name of the skin. Cannot be null.
+     * @return the future witch is completed with the skin, or completed exceptionally with the failure of the last source
+     * @see NotNull
+     */
+    @Override
+    public CompletableFuture<SkinData> getSkin(@NotNull String name) {
+        CompletableFuture<SkinData> future = new CompletableFuture<>();
+        future.completeExceptionally(new SkinFetchException(Reason.NOT_FOUND, SkinFetchException.NO_STATUS, "No source is configured for the skin " + name));
+
+        for (SkinSource source : this.sources) {
+            future = future.handle((skinData, throwable) -> throwable == null ? CompletableFuture.completedFuture(skinData) : source.getSkin(name))
+                    .thenCompose(result -> result);
+        }
+        return future;
+    }
+
+}
@@ -0,0 +1,144 @@
+package de.digitaldevs.npc.core.skin;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import de.digitaldevs.npc.core.Plugin;
+import de.digitaldevs.npc.core.base.SkinData;
+import de.digitaldevs.npc.core.skin.SkinFetchException.Reason;
+import lombok.Getter;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+
+/**
+ * This class is a source for a skin pack witch is stored in a directory, so the skins can be pre-baked and no request is needed. <br>
+ * Each skin is stored in its own {@code .json}, {@code .yml} or {@code .yaml} file with a {@code value} and a {@code signature} entry.
+ * The name of the file without the extension is the name of the skin. <br>
+ * The files are read by {@link #reload()} and kept in memory, so looking up a skin never touches the disk.
+ *
+ * @author MerryChrismas
+ * @author <a href='https://digitaldevs.de'>DigitalDevs.de</a>
+ * @version 1.1
+ * @since 1.1
+ */
+public class DirectorySkinSource implements SkinSource {
+
+    /**
+     * The gson instance witch parses the json files
+     */
+    private static final Gson GSON = new Gson();
+
+    /**
+     * The directory where the skins are stored
+     *
+     * @see Getter
+     */
+    @Getter private final File directory;
+
+    /**
+     * The loaded skins mapped by their name in lower case
+     */
+    private volatile Map<String, SkinData> skins = new ConcurrentHashMap<>();
+
+    /**
+     * Instantiates a new DirectorySkinSource and loads the skins of the directory.
+     *
+     * @param directory the directory where the skins are stored. Cannot be null.
+     * @see NotNull
+     */
+    public DirectorySkinSource(@NotNull File directory) {
+        this.directory = directory;
+        this.reload();
+    }
+
+    /**
+     * Loads all skins of the directory again. Nothing is loaded if the directory does not exist. Files witch can not be read are skipped.
+     *
+     * @return the amount of loaded skins
+     */
+    public int reload() {
+        Map<String, SkinData> skins = new ConcurrentHashMap<>();
+        File[] files = this.directory.listFiles(File::isFile);
+        if (files != null) {
+            for (File file : files) {
+                String fileName = file.getName();
+                int extension = fileName.lastIndexOf('.');
+                if (extension <= 0) continue;
+
+                try {
+                    SkinData skinData = read(file, fileName.substring(extension + 1).toLowerCase(Locale.ROOT));
+                    if (skinData != null) skins.put(fileName.substring(0, extension).toLowerCase(Locale.ROOT), skinData);
+                } catch (IOException | RuntimeException exception) {
+                    Plugin.getInstance().getLogger().log(Level.WARNING, "Could not read the skin " + file, exception);
+                }
+            }
+        }
+        this.skins = skins;
+        return skins.size();
+    }
+
+    /**
+     * Gets a loaded skin.
+     *
+     * @param name the name of the skin. Cannot be null.
+     * @return the completed future of the skin, or a future completed exceptionally if the directory contains no skin with the name
+     * @see NotNull
+     */
+    @Override
+    public CompletableFuture<SkinData> getSkin(@NotNull String name) {
+        SkinData skinData = this.skins.get(name.toLowerCase(Locale.ROOT));
+        if (skinData != null) return CompletableFuture.completedFuture(skinData);
+
+        CompletableFuture<SkinData> future = new CompletableFuture<>();
+        future.completeExceptionally(new SkinFetchException(Reason.NOT_FOUND, SkinFetchException.NO_STATUS, "The skin " + name + " is not in " + this.directory));
+        return future;
+    }
+
+    /**
+     * Reads the skin of a file.
+     *
+     * @param file      the file. Cannot be null.
+     * @param extension the lower case extension of the file. Cannot be null.
+     * @return the skin or {@code null} if the file is no skin
+     * @throws IOException if the file could not be read
+     * @see NotNull
+     * @see Nullable
+     */
+    @Nullable
+    private static SkinData read(@NotNull File file, @NotNull String extension) throws IOException {
+        String value;
+        String signature;
+        switch (extension) {
+            case "json":
+                try (Reader reader = new InputStreamReader(Files.newInputStream(file.toPath()), StandardCharsets.UTF_8)) {
+                    JsonObject object = GSON.fromJson(reader, JsonObject.class);
+                    if (object == null || !object.has("value") || !object.has("signature")) return null;
+                    value = object.get("value").getAsString();
+                    signature = object.get("signature").getAsString();
+                }
+                break;
+            case "yml":
+            case "yaml":
+                YamlConfiguration configuration = YamlConfiguration.loadConfiguration(file);
+                value = configuration.getString("value");
+                signature = configuration.getString("signature");
+                break;
+            default:
+                return null;
+        }
+        return value != null && signature != null ? new SkinData(signature, value) : null;
+    }
+
+}
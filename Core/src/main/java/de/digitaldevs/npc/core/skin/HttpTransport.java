@@ -0,0 +1,263 @@
+package de.digitaldevs.npc.core.skin;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * This class is used for sending the HTTP requests of the skin lookups. One transport is shared by all NPCs. <br>
+ * At most {@link #getMaxConnections()} requests are open at once. Each response is read completely and its stream is closed instead of
+ * disconnecting the connection, so the JDK keeps the connection alive and reuses it for the next request to the same host. Responses are
+ * requested with gzip, and each connection has a connect and a read timeout. <br>
+ * The latency of each request is recorded, so the average and the maximum latency can be read at any time.
+ *
+ * @author MerryChrismas
+ * @author <a href='https://digitaldevs.de'>DigitalDevs.de</a>
+ * @version 1.1
+ * @since 1.1
+ */
+public class HttpTransport {
+
+    /**
+     * The amount of connections witch can be open at once by default. The JDK keeps up to five idle connections per host alive.
+     */
+    public static final int DEFAULT_MAX_CONNECTIONS = 4;
+
+    /**
+     * The size of the buffer witch is used for reading the rest of a response
+     */
+    private static final int DRAIN_BUFFER_SIZE = 1024;
+
+    /**
+     * The maximum amount of connections witch can be open at once
+     *
+     * @see Getter
+     */
+    @Getter private final int maxConnections;
+
+    /**
+     * The timeout for connecting to the server in milliseconds
+     *
+     * @see Getter
+     * @see Setter
+     */
+    @Getter @Setter private volatile int connectTimeout = 5000;
+
+    /**
+     * The timeout for reading a response in milliseconds
+     *
+     * @see Getter
+     * @see Setter
+     */
+    @Getter @Setter private volatile int readTimeout = 5000;
+
+    /**
+     * The permits of the connections witch can be opened
+     */
+    private final Semaphore connections;
+
+    /**
+     * The amount of requests witch received a response
+     */
+    private final AtomicLong requests = new AtomicLong();
+
+    /**
+     * The amount of requests witch failed without a response
+     */
+    private final AtomicLong failures = new AtomicLong();
+
+    /**
+     * The summed up latency of all requests in nanoseconds
+     */
+    private final AtomicLong totalLatency = new AtomicLong();
+
+    /**
+     * The highest latency of a request in nanoseconds
+     */
+    private final AtomicLong maxLatency = new AtomicLong();
+
+    /**
+     * Instantiates a new HttpTransport with the default amount of connections.
+     */
+    public HttpTransport() {
+        this(DEFAULT_MAX_CONNECTIONS);
+    }
+
+    /**
+     * Instantiates a new HttpTransport.
+     *
+     * @param maxConnections the maximum amount of connections witch can be open at once
+     */
+    public HttpTransport(int maxConnections) {
+        if (maxConnections < 1) throw new IllegalArgumentException("At least one connection is needed");
+        this.maxConnections = maxConnections;
+        this.connections = new Semaphore(maxConnections, true);
+    }
+
+    /**
+     * Sends a request and reads its response. If a body is given, it is posted as json. <br>
+     * The handler receives the decompressed body of the response. Whatever the handler did not read is read afterwards, so the connection
+     * can be reused. The handler must not close the stream.
+     *
+     * @param url     the url. Cannot be null.
+     * @param body    the json witch is posted or {@code null} if the url is only requested
+     * @param handler the handler witch reads the response. Cannot be null.
+     * @param <T>     the type of the result
+     * @return the result of the handler
+     * @throws IOException if the server could not be reached in time, the handler failed or the current thread was interrupted
+     * @see NotNull
+     * @see Nullable
+     */
+    public <T> T exchange(@NotNull String url, @Nullable String body, @NotNull ResponseHandler<T> handler) throws IOException {
+        try {
+            this.connections.acquire();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a connection to " + url);
+        }
+
+        long start = System.nanoTime();
+        HttpURLConnection connection = null;
+        boolean responded = false;
+        try {
+            connection = (HttpURLConnection) new URL(url).openConnection();
+            connection.setConnectTimeout(this.connectTimeout);
+            connection.setReadTimeout(this.readTimeout);
+            connection.setRequestProperty("Accept-Encoding", "gzip");
+            if (body != null) {
+                connection.setRequestMethod("POST");
+                connection.setRequestProperty("Content-Type", "application/json");
+                connection.setDoOutput(true);
+                try (OutputStream output = connection.getOutputStream()) {
+                    output.write(body.getBytes(StandardCharsets.UTF_8));
+                }
+            }
+
+            int status = connection.getResponseCode();
+            responded = true;
+            try (InputStream input = this.openBody(connection, status)) {
+                T result = handler.handle(status, connection, input);
+                drain(input);
+                return result;
+            }
+        } catch (IOException | RuntimeException exception) {
+            if (connection != null) connection.disconnect();
+            throw exception;
+        } finally {
+            this.connections.release();
+            this.record(System.nanoTime() - start, responded);
+        }
+    }
+
+    /**
+     * Gets the amount of requests witch received a response.
+     *
+     * @return the amount of requests
+     */
+    public long getRequests() {
+        return this.requests.get();
+    }
+
+    /**
+     * Gets the amount of requests witch failed without a response, e.g. because of a timeout.
+     *
+     * @return the amount of failures
+     */
+    public long getFailures() {
+        return this.failures.get();
+    }
+
+    /**
+     * Gets the average latency of all requests.
+     *
+     * @return the latency in milliseconds or {@code 0} if no request was sent yet
+     */
+    public double getAverageLatency() {
+        long count = this.requests.get() + this.failures.get();
+        return count == 0 ? 0 : this.totalLatency.get() / (double) count / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * Gets the highest latency of a request.
+     *
+     * @return the latency in milliseconds
+     */
+    public double getMaxLatency() {
+        return this.maxLatency.get() / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * Opens the body of a response and decompresses it if the server sent it with gzip.
+     *
+     * @param connection the connection. Cannot be null.
+     * @param status     the status code of the response
+     * @return the body or an empty stream if the response has no body
+     * @throws IOException if the body could not be opened
+     * @see NotNull
+     */
+    private InputStream openBody(@NotNull HttpURLConnection connection, int status) throws IOException {
+        InputStream input = status >= HttpURLConnection.HTTP_BAD_REQUEST ? connection.getErrorStream() : connection.getInputStream();
+        if (input == null) return new ByteArrayInputStream(new byte[0]);
+        return "gzip".equalsIgnoreCase(connection.getContentEncoding()) ? new GZIPInputStream(input) : input;
+    }
+
+    /**
+     * Records the latency of a request.
+     *
+     * @param latency   the latency in nanoseconds
+     * @param responded weather the request received a response
+     */
+    private void record(long latency, boolean responded) {
+        (responded ? this.requests : this.failures).incrementAndGet();
+        this.totalLatency.addAndGet(latency);
+        this.maxLatency.accumulateAndGet(latency, Math::max);
+    }
+
+    /**
+     * Reads the rest of a response, so the connection can be reused.
+     *
+     * @param input the body of the response. Cannot be null.
+     * @throws IOException if the body could not be read
+     * @see NotNull
+     */
+    private static void drain(@NotNull InputStream input) throws IOException {
+        byte[] buffer = new byte[DRAIN_BUFFER_SIZE];
+        while (input.read(buffer) != -1) ;
+    }
+
+    /**
+     * This interface represents a handler witch reads the response of a request.
+     *
+     * @param <T> the type of the result
+     */
+    @FunctionalInterface
+    public interface ResponseHandler<T> {
+
+        /**
+         * Reads the response.
+         *
+         * @param status     the status code of the response
+         * @param connection the connection, e.g. for reading the headers. Cannot be null.
+         * @param body       the decompressed body. Cannot be null.
+         * @return the result
+         * @throws IOException if the response could not be read
+         * @see NotNull
+         */
+        T handle(int status, @NotNull HttpURLConnection connection, @NotNull InputStream body) throws IOException;
+    }
+
+}
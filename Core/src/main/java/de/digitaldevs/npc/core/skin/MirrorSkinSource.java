@@ -0,0 +1,99 @@
+package de.digitaldevs.npc.core.skin;
+
+import de.digitaldevs.npc.core.base.SkinData;
+import de.digitaldevs.npc.core.enums.SkinPriority;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * This class is a source for skins witch are served by a mirror of the session server, e.g. a skin server of the own network. <br>
+ * The profile of a skin is requested from the base url followed by the url encoded name of the skin. The mirror has to respond with a profile
+ * in the format of Mojang's session server. The requests are executed by the worker threads of the {@link SkinFetcher}, but they are paced by
+ * the own {@link TokenBucket} of the mirror instead of the rate limit of Mojang. <br>
+ * The fetched skins are kept in the own {@link SkinCache} of the mirror. They are never stored in the cache of the {@link SkinFetcher}, so a
+ * mirror neither replaces the skins Mojang sent nor ends up in the skins witch are saved on shutdown.
+ *
+ * @author MerryChrismas
+ * @author <a href='https://digitaldevs.de'>DigitalDevs.de</a>
+ * @version 1.1
+ * @since 1.1
+ */
+public class MirrorSkinSource implements SkinSource {
+
+    /**
+     * The fetcher witch executes the requests
+     *
+     * @see Getter
+     */
+    @Getter private final SkinFetcher fetcher;
+
+    /**
+     * The url witch is followed by the name of the skin, e.g. {@code https://skins.example.com/profile/}
+     *
+     * @see Getter
+     */
+    @Getter private final String baseUrl;
+
+    /**
+     * The bucket witch paces the requests to the mirror. Its rate can be changed with {@link TokenBucket#setRate(int, double)}.
+     *
+     * @see Getter
+     */
+    @Getter private final TokenBucket rateLimiter;
+
+    /**
+     * The cache where the skins of the mirror are stored
+     *
+     * @see Getter
+     */
+    @Getter private final SkinCache cache = new SkinCache();
+
+    /**
+     * Instantiates a new MirrorSkinSource witch sends up to 20 requests per second.
+     *
+     * @param fetcher the fetcher witch executes the requests. Cannot be null.
+     * @param baseUrl the url witch is followed by the name of the skin. Cannot be null.
+     * @see NotNull
+     */
+    public MirrorSkinSource(@NotNull SkinFetcher fetcher, @NotNull String baseUrl) {
+        this(fetcher, baseUrl, new TokenBucket(20, 20.0D));
+    }
+
+    /**
+     * Instantiates a new MirrorSkinSource.
+     *
+     * @param fetcher     the fetcher witch executes the requests. Cannot be null.
+     * @param baseUrl     the url witch is followed by the name of the skin. Cannot be null.
+     * @param rateLimiter the bucket witch paces the requests to the mirror. Cannot be null.
+     * @see NotNull
+     */
+    public MirrorSkinSource(@NotNull SkinFetcher fetcher, @NotNull String baseUrl, @NotNull TokenBucket rateLimiter) {
+        this.fetcher = fetcher;
+        this.baseUrl = baseUrl;
+        this.rateLimiter = rateLimiter;
+    }
+
+    /**
+     * Fetches a skin from the mirror. Skins witch are cached by the mirror are not requested again.
+     *
+     * @param name the name of the skin. Cannot be null.
+     * @return the future witch is completed with the skin, or completed exceptionally with a {@link SkinFetchException}
+     * @see NotNull
+     */
+    @Override
+    public CompletableFuture<SkinData> getSkin(@NotNull String name) {
+        SkinData cached = this.cache.get(name);
+        if (cached != null) return CompletableFuture.completedFuture(cached);
+
+        try {
+            return this.fetcher.fetchFrom(this.baseUrl + URLEncoder.encode(name, "UTF-8"), this.rateLimiter, SkinPriority.NORMAL, this.cache);
+        } catch (UnsupportedEncodingException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+}
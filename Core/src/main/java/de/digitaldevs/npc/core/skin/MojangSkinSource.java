@@ -0,0 +1,70 @@
+package de.digitaldevs.npc.core.skin;
+
+import de.digitaldevs.npc.core.base.SkinData;
+import de.digitaldevs.npc.core.enums.SkinPriority;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * This class is a source for the skins of players witch are fetched from Mojang by the {@link SkinFetcher}. The name of a skin is the name
+ * of the player owning it.
+ *
+ * @author MerryChrismas
+ * @author <a href='https://digitaldevs.de'>DigitalDevs.de</a>
+ * @version 1.1
+ * @since 1.1
+ */
+public class MojangSkinSource implements SkinSource {
+
+    /**
+     * The fetcher witch requests the skins
+     *
+     * @see Getter
+     */
+    @Getter private final SkinFetcher fetcher;
+
+    /**
+     * The priority of the requests
+     *
+     * @see Getter
+     */
+    @Getter private final SkinPriority priority;
+
+    /**
+     * Instantiates a new MojangSkinSource witch requests the skins with the {@link SkinPriority#NORMAL} priority.
+     *
+     * @param fetcher the fetcher witch requests the skins. Cannot be null.
+     * @see NotNull
+     */
+    public MojangSkinSource(@NotNull SkinFetcher fetcher) {
+        this(fetcher, SkinPriority.NORMAL);
+    }
+
+    /**
+     * Instantiates a new MojangSkinSource.
+     *
+     * @param fetcher  the fetcher witch requests the skins. Cannot be null.
+     * @param priority the priority of the requests. Cannot be null.
+     * @see NotNull
+     */
+    public MojangSkinSource(@NotNull SkinFetcher fetcher, @NotNull SkinPriority priority) {
+        this.fetcher = fetcher;
+        this.priority = priority;
+    }
+
+    /**
+     * Fetches the skin of a player.
+     *
+     * @param name the name of an existing player having the skin at this moment. Cannot be null.
+     * @return the future witch is completed with the skin, or completed exceptionally with a {@link SkinFetchException}
+     * @see SkinFetcher#fetch(String, SkinPriority)
+     * @see NotNull
+     */
+    @Override
+    public CompletableFuture<SkinData> getSkin(@NotNull String name) {
+        return this.fetcher.fetch(name, this.priority);
+    }
+
+}
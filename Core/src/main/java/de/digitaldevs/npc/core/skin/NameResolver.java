@@ -0,0 +1,209 @@
+package de.digitaldevs.npc.core.skin;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonPrimitive;
+import de.digitaldevs.npc.core.skin.SkinFetchException.Reason;
+import lombok.Getter;
+import lombok.Setter;
+import org.jetbrains.annotations.NotNull;
+
+import java.net.HttpURLConnection;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * This class is used for resolving the unique ids of players by their names in batches. <br>
+ * Names witch are requested within {@value #LINGER} milliseconds are collected and resolved with one request to the bulk profiles endpoint
+ * of Mojang, witch accepts up to {@value #BATCH_SIZE} names. A name witch is requested again while it is resolved is not sent twice. <br>
+ * The requests are sent by the {@link SkinFetcher}, so they are paced and retried like all other requests to Mojang.
+ *
+ * @author MerryChrismas
+ * @author <a href='https://digitaldevs.de'>DigitalDevs.de</a>
+ * @version 1.1
+ * @since 1.1
+ */
+public class NameResolver {
+
+    /**
+     * The default url witch resolves the unique ids of several players by their names
+     */
+    public static final String PROFILES_URL = "https://api.mojang.com/profiles/minecraft";
+
+    /**
+     * The maximum amount of names witch are resolved with one request
+     */
+    public static final int BATCH_SIZE = 10;
+
+    /**
+     * The time in milliseconds to wait for further names before a batch witch is not full is sent
+     */
+    private static final long LINGER = 50L;
+
+    /**
+     * The url witch resolves the unique ids of several players by their names
+     *
+     * @see Getter
+     * @see Setter
+     */
+    @Getter @Setter private volatile String profilesUrl = PROFILES_URL;
+
+    /**
+     * The fetcher witch sends the requests
+     */
+    private final SkinFetcher fetcher;
+
+    /**
+     * The names witch are resolved at the moment mapped by their lower case. A name is removed as soon as it was resolved.
+     */
+    private final Map<String, CompletableFuture<UUID>> requested = new HashMap<>();
+
+    /**
+     * The lower case names witch wait for the next batch
+     */
+    private final List<String> queued = new ArrayList<>();
+
+    /**
+     * The thread witch collects the names and sends the batches
+     */
+    private final ScheduledThreadPoolExecutor executor;
+
+    /**
+     * Instantiates a new NameResolver.
+     *
+     * @param fetcher the fetcher witch sends the requests. Cannot be null.
+     * @see NotNull
+     */
+    NameResolver(@NotNull SkinFetcher fetcher) {
+        this.fetcher = fetcher;
+        this.executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "NPC Name Resolver");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Resolves the unique id of a player. The name is sent with the next batch.
+     *
+     * @param name the name of an existing player. Cannot be null.
+     * @return the future witch is completed with the unique id, or completed exceptionally with a {@link SkinFetchException}
+     * @see NotNull
+     */
+    public CompletableFuture<UUID> resolve(@NotNull String name) {
+        String key = name.toLowerCase(Locale.ROOT);
+        CompletableFuture<UUID> future;
+        synchronized (this) {
+            future = this.requested.get(key);
+            if (future == null) {
+                CompletableFuture<UUID> created = future = new CompletableFuture<>();
+                this.requested.put(key, created);
+                created.whenComplete((uniqueId, throwable) -> this.remove(key, created));
+                this.queue(key);
+            }
+        }
+        return future.thenApply(Function.identity());
+    }
+
+    /**
+     * Stops the thread witch sends the batches. Names witch were not resolved yet are completed exceptionally.
+     */
+    public void shutdown() {
+        this.executor.shutdownNow();
+
+        List<CompletableFuture<UUID>> futures;
+        synchronized (this) {
+            futures = new ArrayList<>(this.requested.values());
+            this.queued.clear();
+        }
+        SkinFetchException exception = new SkinFetchException(Reason.REJECTED, SkinFetchException.NO_STATUS, "The name resolver was shut down");
+        futures.forEach(future -> future.completeExceptionally(exception));
+    }
+
+    /**
+     * Adds a name to the next batch. A full batch is sent immediately, otherwise the batch is sent after {@value #LINGER} milliseconds.
+     *
+     * @param key the lower case name. Cannot be null.
+     * @see NotNull
+     */
+    private synchronized void queue(@NotNull String key) {
+        this.queued.add(key);
+        try {
+            if (this.queued.size() % BATCH_SIZE == 0) this.executor.execute(() -> this.flush(false));
+            else if (this.queued.size() == 1) this.executor.schedule(() -> this.flush(true), LINGER, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException exception) {
+            this.queued.remove(key);
+            this.requested.get(key).completeExceptionally(new SkinFetchException(Reason.REJECTED, SkinFetchException.NO_STATUS,
+                    "The name resolver was shut down", exception));
+        }
+    }
+
+    /**
+     * Sends the queued names in batches of at most {@value #BATCH_SIZE} names. <br>
+     * If a full batch triggered the flush, only full batches are sent. The rest keeps waiting for the end of the linger, so names witch are
+     * requested at once are sent with as few requests as possible.
+     *
+     * @param all {@code true} if the linger is over and every queued name is sent; {@code false} if only full batches are sent
+     */
+    private void flush(boolean all) {
+        while (true) {
+            Map<String, CompletableFuture<UUID>> batch = new LinkedHashMap<>();
+            synchronized (this) {
+                if (!all && this.queued.size() < BATCH_SIZE) return;
+                while (!this.queued.isEmpty() && batch.size() < BATCH_SIZE) {
+                    String key = this.queued.remove(0);
+                    CompletableFuture<UUID> future = this.requested.get(key);
+                    if (future != null) batch.put(key, future);
+                }
+            }
+            if (batch.isEmpty()) return;
+            this.request(batch);
+        }
+    }
+
+    /**
+     * Resolves one batch of names. Names witch are missing in the response do not exist.
+     *
+     * @param batch the futures of the names mapped by the lower case names. Cannot be null.
+     * @see NotNull
+     */
+    private void request(@NotNull Map<String, CompletableFuture<UUID>> batch) {
+        JsonArray names = new JsonArray();
+        batch.keySet().forEach(name -> names.add(new JsonPrimitive(name)));
+
+        Map<String, UUID> uniqueIds;
+        try {
+            uniqueIds = this.fetcher.request(this.profilesUrl, names.toString(), batch.size() + " names", ProfileParser::readProfiles);
+        } catch (SkinFetchException exception) {
+            batch.values().forEach(future -> future.completeExceptionally(exception));
+            return;
+        }
+
+        batch.forEach((name, future) -> {
+            UUID uniqueId = uniqueIds.get(name);
+            if (uniqueId != null) future.complete(uniqueId);
+            else future.completeExceptionally(new SkinFetchException(Reason.NOT_FOUND, HttpURLConnection.HTTP_OK, "The player " + name + " does not exist"));
+        });
+    }
+
+    /**
+     * Removes a name witch was resolved.
+     *
+     * @param key    the lower case name. Cannot be null.
+     * @param future the future of the name. Cannot be null.
+     * @see NotNull
+     */
+    private synchronized void remove(@NotNull String key, @NotNull CompletableFuture<UUID> future) {
+        this.requested.remove(key, future);
+    }
+
+}
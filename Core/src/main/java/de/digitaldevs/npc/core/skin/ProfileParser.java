@@ -0,0 +1,168 @@
+package de.digitaldevs.npc.core.skin;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import de.digitaldevs.npc.core.base.SkinData;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * This class is used for reading the responses of Mojang straight from the stream of the connection. <br>
+ * <b>Implementation Note: </b>The responses are read token by token with a {@link JsonReader}. Only the unique id, the name and the
+ * textures are kept, every other value is skipped, so neither the body as a string nor a tree of json elements is created.
+ *
+ * @author MerryChrismas
+ * @author <a href='https://digitaldevs.de'>DigitalDevs.de</a>
+ * @version 1.1
+ * @since 1.1
+ */
+final class ProfileParser {
+
+    /**
+     * Instantiates a new ProfileParser.
+     */
+    private ProfileParser() {
+    }
+
+    /**
+     * Reads a profile in the format of the session server. Properties witch are no textures are skipped.
+     *
+     * @param reader the reader of the response. Cannot be null.
+     * @return the profile
+     * @throws IOException if the response could not be read
+     * @see NotNull
+     */
+    static Profile readProfile(@NotNull JsonReader reader) throws IOException {
+        String id = null;
+        String name = null;
+        SkinData skinData = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "id":
+                    id = reader.nextString();
+                    break;
+                case "name":
+                    name = reader.nextString();
+                    break;
+                case "properties":
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        SkinData textures = readTextures(reader);
+                        if (skinData == null) skinData = textures;
+                    }
+                    reader.endArray();
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return new Profile(id != null ? SkinFetcher.toUniqueId(id) : null, name, skinData);
+    }
+
+    /**
+     * Reads the response of the bulk profiles endpoint.
+     *
+     * @param reader the reader of the response. Cannot be null.
+     * @return the unique ids mapped by the lower case names
+     * @throws IOException if the response could not be read
+     * @see NotNull
+     */
+    static Map<String, UUID> readProfiles(@NotNull JsonReader reader) throws IOException {
+        Map<String, UUID> uniqueIds = new HashMap<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            String id = null;
+            String name = null;
+
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "id":
+                        id = reader.nextString();
+                        break;
+                    case "name":
+                        name = reader.nextString();
+                        break;
+                    default:
+                        reader.skipValue();
+                }
+            }
+            reader.endObject();
+            if (id != null && name != null) uniqueIds.put(name.toLowerCase(Locale.ROOT), SkinFetcher.toUniqueId(id));
+        }
+        reader.endArray();
+        return uniqueIds;
+    }
+
+    /**
+     * Reads one property of a profile.
+     *
+     * @param reader the reader of the response. Cannot be null.
+     * @return the skin or {@code null} if the property is no textures property or is not signed
+     * @throws IOException if the response could not be read
+     * @see NotNull
+     * @see Nullable
+     */
+    @Nullable
+    private static SkinData readTextures(@NotNull JsonReader reader) throws IOException {
+        String name = null;
+        String value = null;
+        String signature = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "name":
+                    name = reader.nextString();
+                    break;
+                case "value":
+                    value = reader.nextString();
+                    break;
+                case "signature":
+                    if (reader.peek() == JsonToken.NULL) reader.nextNull();
+                    else signature = reader.nextString();
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return "textures".equals(name) && value != null && signature != null ? new SkinData(signature, value) : null;
+    }
+
+    /**
+     * A profile witch was read from a response.
+     *
+     * @see AllArgsConstructor
+     */
+    @AllArgsConstructor
+    static final class Profile {
+
+        /**
+         * The unique id of the player or {@code null} if it was not sent
+         */
+        @Getter private final UUID uniqueId;
+
+        /**
+         * The name of the player or {@code null} if it was not sent
+         */
+        @Getter private final String name;
+
+        /**
+         * The textures of the player or {@code null} if the profile has none
+         */
+        @Getter private final SkinData skinData;
+    }
+
+}
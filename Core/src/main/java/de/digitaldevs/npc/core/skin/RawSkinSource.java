@@ -0,0 +1,78 @@
+package de.digitaldevs.npc.core.skin;
+
+import de.digitaldevs.npc.core.base.SkinData;
+import de.digitaldevs.npc.core.skin.SkinFetchException.Reason;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This class is a source for skins witch are registered with their value and signature, e.g. from the configuration of a plugin. <br>
+ * The skins are looked up by their name ignoring the case and never cause any request.
+ *
+ * @author MerryChrismas
+ * @author <a href='https://digitaldevs.de'>DigitalDevs.de</a>
+ * @version 1.1
+ * @since 1.1
+ */
+public class RawSkinSource implements SkinSource {
+
+    /**
+     * The registered skins mapped by their name in lower case
+     */
+    private final Map<String, SkinData> skins = new ConcurrentHashMap<>();
+
+    /**
+     * Registers a skin and replaces the skin witch was registered with the same name before.
+     *
+     * @param name     the name of the skin. Cannot be null.
+     * @param skinData the skin. Cannot be null.
+     * @see NotNull
+     */
+    public void register(@NotNull String name, @NotNull SkinData skinData) {
+        this.skins.put(name.toLowerCase(Locale.ROOT), skinData);
+    }
+
+    /**
+     * Registers a skin by its value and signature.
+     *
+     * @param name      the name of the skin. Cannot be null.
+     * @param value     the base64 encoded textures. Cannot be null.
+     * @param signature the signature of Mojang for the textures. Cannot be null.
+     * @see NotNull
+     */
+    public void register(@NotNull String name, @NotNull String value, @NotNull String signature) {
+        this.register(name, new SkinData(signature, value));
+    }
+
+    /**
+     * Removes a registered skin.
+     *
+     * @param name the name of the skin. Cannot be null.
+     * @see NotNull
+     */
+    public void unregister(@NotNull String name) {
+        this.skins.remove(name.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Gets a registered skin.
+     *
+     * @param name the name of the skin. Cannot be null.
+     * @return the completed future of the skin, or a future completed exceptionally if no skin is registered with the name
+     * @see NotNull
+     */
+    @Override
+    public CompletableFuture<SkinData> getSkin(@NotNull String name) {
+        SkinData skinData = this.skins.get(name.toLowerCase(Locale.ROOT));
+        if (skinData != null) return CompletableFuture.completedFuture(skinData);
+
+        CompletableFuture<SkinData> future = new CompletableFuture<>();
+        future.completeExceptionally(new SkinFetchException(Reason.NOT_FOUND, SkinFetchException.NO_STATUS, "The skin " + name + " is not registered"));
+        return future;
+    }
+
+}
@@ -0,0 +1,332 @@
+package de.digitaldevs.npc.core.skin;
+
+import de.digitaldevs.npc.core.Plugin;
+import de.digitaldevs.npc.core.base.SkinData;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class is a cache for the skins witch were fetched from Mojang. The skins can be looked up by the name and by the unique id of their owner. <br>
+ * The cache holds at most {@link #getMaximumSize()} skins. If it is full, the skin witch was not used for the longest time is evicted.
+ * Skins witch are older than {@link #getTimeToLive()} milliseconds are fetched again. <br>
+ * The cache can be saved to a file and loaded from it, so a restart does not fetch every skin again.
+ *
+ * @author MerryChrismas
+ * @author <a href='https://digitaldevs.de'>DigitalDevs.de</a>
+ * @version 1.1
+ * @since 1.1
+ */
+public class SkinCache {
+
+    /**
+     * The amount of skins witch are cached by default
+     */
+    public static final int DEFAULT_MAXIMUM_SIZE = 1024;
+
+    /**
+     * The time in milliseconds a skin is cached by default
+     */
+    public static final long DEFAULT_TIME_TO_LIVE = TimeUnit.HOURS.toMillis(24);
+
+    /**
+     * The maximum amount of cached skins
+     *
+     * @see Getter
+     */
+    @Getter private final int maximumSize;
+
+    /**
+     * The time in milliseconds a skin is cached
+     *
+     * @see Getter
+     */
+    @Getter private final long timeToLive;
+
+    /**
+     * The cached skins mapped by the unique id of their owner. The entries are ordered from the least to the most recently used one.
+     */
+    private final LinkedHashMap<UUID, CachedSkin> skins;
+
+    /**
+     * The unique ids of the owners mapped by their name in lower case
+     */
+    private final Map<String, UUID> names = new HashMap<>();
+
+    /**
+     * The amount of lookups witch found a skin
+     */
+    private final AtomicLong hits = new AtomicLong();
+
+    /**
+     * The amount of lookups witch found no skin
+     */
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * The amount of skins witch were removed because the cache was full or they were expired
+     */
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * Instantiates a new SkinCache with the default size and time to live.
+     */
+    public SkinCache() {
+        this(DEFAULT_MAXIMUM_SIZE, DEFAULT_TIME_TO_LIVE);
+    }
+
+    /**
+     * Instantiates a new SkinCache.
+     *
+     * @param maximumSize the maximum amount of cached skins
+     * @param timeToLive  the time in milliseconds a skin is cached
+     */
+    public SkinCache(int maximumSize, long timeToLive) {
+        this.maximumSize = maximumSize;
+        this.timeToLive = timeToLive;
+        this.skins = new LinkedHashMap<UUID, CachedSkin>(16, 0.75F, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, CachedSkin> eldest) {
+                if (this.size() <= SkinCache.this.maximumSize) return false;
+                SkinCache.this.names.remove(eldest.getValue().getName().toLowerCase(Locale.ROOT), eldest.getKey());
+                SkinCache.this.evictions.incrementAndGet();
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Gets the cached skin of a player by its name.
+     *
+     * @param name the name of the player. Cannot be null.
+     * @return the skin or {@code null} if the skin is not cached or expired
+     * @see NotNull
+     * @see Nullable
+     */
+    @Nullable
+    public synchronized SkinData get(@NotNull String name) {
+        UUID uniqueId = this.names.get(name.toLowerCase(Locale.ROOT));
+        if (uniqueId != null) return this.get(uniqueId);
+
+        this.misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Gets the cached skin of a player by its unique id.
+     *
+     * @param uniqueId the unique id of the player. Cannot be null.
+     * @return the skin or {@code null} if the skin is not cached or expired
+     * @see NotNull
+     * @see Nullable
+     */
+    @Nullable
+    public synchronized SkinData get(@NotNull UUID uniqueId) {
+        SkinData skinData = this.peek(uniqueId);
+        if (skinData == null) this.misses.incrementAndGet();
+        else this.hits.incrementAndGet();
+        return skinData;
+    }
+
+    /**
+     * Gets the cached skin of a player by its unique id without counting a hit or a miss. <br>
+     * It is used when the lookup was already counted, e.g. by a lookup of the player's name witch missed.
+     *
+     * @param uniqueId the unique id of the player. Cannot be null.
+     * @return the skin or {@code null} if the skin is not cached or expired
+     * @see NotNull
+     * @see Nullable
+     */
+    @Nullable
+    synchronized SkinData peek(@NotNull UUID uniqueId) {
+        CachedSkin cached = this.skins.get(uniqueId);
+        if (cached != null && this.isExpired(cached)) {
+            this.remove(uniqueId, cached);
+            this.evictions.incrementAndGet();
+            cached = null;
+        }
+        return cached != null ? cached.getSkinData() : null;
+    }
+
+    /**
+     * Caches the skin of a player.
+     *
+     * @param name     the name of the player. Cannot be null.
+     * @param uniqueId the unique id of the player. Cannot be null.
+     * @param skinData the skin. Cannot be null.
+     * @see NotNull
+     */
+    public void put(@NotNull String name, @NotNull UUID uniqueId, @NotNull SkinData skinData) {
+        this.put(new CachedSkin(name, uniqueId, skinData, System.currentTimeMillis()));
+    }
+
+    /**
+     * Gets the amount of lookups witch found a skin.
+     *
+     * @return the amount of hits
+     */
+    public long getHits() {
+        return this.hits.get();
+    }
+
+    /**
+     * Gets the amount of lookups witch found no skin.
+     *
+     * @return the amount of misses
+     */
+    public long getMisses() {
+        return this.misses.get();
+    }
+
+    /**
+     * Gets the amount of skins witch were removed because the cache was full or they were expired.
+     *
+     * @return the amount of evictions
+     */
+    public long getEvictions() {
+        return this.evictions.get();
+    }
+
+    /**
+     * Gets the amount of cached skins.
+     *
+     * @return the amount of skins
+     */
+    public synchronized int size() {
+        return this.skins.size();
+    }
+
+    /**
+     * Loads the skins witch are not expired yet from a file. Nothing happens if the file does not exist. <br>
+     * Entries whose key is not a unique id are skipped with a warning, so an edited file does not stop the plugin from enabling.
+     *
+     * @param file the file. Cannot be null.
+     * @see NotNull
+     */
+    public void load(@NotNull File file) {
+        if (!file.exists()) return;
+
+        YamlConfiguration configuration = YamlConfiguration.loadConfiguration(file);
+        for (String key : configuration.getKeys(false)) {
+            ConfigurationSection section = configuration.getConfigurationSection(key);
+            if (section == null) continue;
+
+            String name = section.getString("name");
+            String value = section.getString("value");
+            String signature = section.getString("signature");
+            if (name == null || value == null || signature == null) continue;
+
+            UUID uniqueId;
+            try {
+                uniqueId = UUID.fromString(key);
+            } catch (IllegalArgumentException exception) {
+                Plugin.getInstance().getLogger().warning("Skipped the cached skin " + key + " because its key is not a unique id");
+                continue;
+            }
+
+            CachedSkin cached = new CachedSkin(name, uniqueId, new SkinData(signature, value), section.getLong("fetched"));
+            if (!this.isExpired(cached)) this.put(cached);
+        }
+    }
+
+    /**
+     * Saves all skins witch are not expired yet to a file.
+     *
+     * @param file the file. Cannot be null.
+     * @throws IOException if the file could not be written
+     * @see NotNull
+     */
+    public void save(@NotNull File file) throws IOException {
+        YamlConfiguration configuration = new YamlConfiguration();
+        synchronized (this) {
+            for (CachedSkin cached : this.skins.values()) {
+                if (this.isExpired(cached)) continue;
+
+                ConfigurationSection section = configuration.createSection(cached.getUniqueId().toString());
+                section.set("name", cached.getName());
+                section.set("value", cached.getSkinData().getValue());
+                section.set("signature", cached.getSkinData().getSignature());
+                section.set("fetched", cached.getFetched());
+            }
+        }
+        configuration.save(file);
+    }
+
+    /**
+     * Caches a skin and replaces the skin witch was cached for the same player before.
+     *
+     * @param cached the skin. Cannot be null.
+     * @see NotNull
+     */
+    private synchronized void put(@NotNull CachedSkin cached) {
+        CachedSkin previous = this.skins.put(cached.getUniqueId(), cached);
+        if (previous != null) this.names.remove(previous.getName().toLowerCase(Locale.ROOT), previous.getUniqueId());
+        this.names.put(cached.getName().toLowerCase(Locale.ROOT), cached.getUniqueId());
+    }
+
+    /**
+     * Removes a skin from the cache.
+     *
+     * @param uniqueId the unique id of the player. Cannot be null.
+     * @param cached   the skin. Cannot be null.
+     * @see NotNull
+     */
+    private void remove(@NotNull UUID uniqueId, @NotNull CachedSkin cached) {
+        this.skins.remove(uniqueId);
+        this.names.remove(cached.getName().toLowerCase(Locale.ROOT), uniqueId);
+    }
+
+    /**
+     * Checks weather a skin is older than the time to live.
+     *
+     * @param cached the skin. Cannot be null.
+     * @return {@code true} if the skin has to be fetched again; {@code false} otherwise
+     * @see NotNull
+     */
+    private boolean isExpired(@NotNull CachedSkin cached) {
+        return System.currentTimeMillis() - cached.getFetched() > this.timeToLive;
+    }
+
+    /**
+     * A skin witch is stored in the cache.
+     *
+     * @see AllArgsConstructor
+     */
+    @AllArgsConstructor
+    private static final class CachedSkin {
+
+        /**
+         * The name of the owner
+         */
+        @Getter private final String name;
+
+        /**
+         * The unique id of the owner
+         */
+        @Getter private final UUID uniqueId;
+
+        /**
+         * The skin
+         */
+        @Getter private final SkinData skinData;
+
+        /**
+         * The time in milliseconds when the skin was fetched
+         */
+        @Getter private final long fetched;
+    }
+
+}
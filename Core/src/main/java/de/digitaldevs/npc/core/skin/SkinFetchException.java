@@ -0,0 +1,97 @@
+package de.digitaldevs.npc.core.skin;
+
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+
+/**
+ * This exception is thrown if a skin could not be fetched. The futures of the {@link SkinFetcher} are completed exceptionally with it. <br>
+ * The {@link Reason} tells why the request failed, so a caller can e.g. tell a missing player from Mojang being unavailable.
+ *
+ * @author MerryChrismas
+ * @author <a href='https://digitaldevs.de'>DigitalDevs.de</a>
+ * @version 1.1
+ * @since 1.1
+ */
+public class SkinFetchException extends IOException {
+
+    /**
+     * The status code witch is used if no response was received
+     */
+    public static final int NO_STATUS = -1;
+
+    /**
+     * The reason why the request failed
+     *
+     * @see Getter
+     */
+    @Getter private final Reason reason;
+
+    /**
+     * The HTTP status code of the last response or {@link #NO_STATUS} if no response was received
+     *
+     * @see Getter
+     */
+    @Getter private final int status;
+
+    /**
+     * Instantiates a new SkinFetchException.
+     *
+     * @param reason  the reason why the request failed. Cannot be null.
+     * @param status  the HTTP status code of the last response or {@link #NO_STATUS}
+     * @param message the detail message
+     * @param cause   the cause or {@code null} if there is none
+     * @see NotNull
+     */
+    public SkinFetchException(@NotNull Reason reason, int status, String message, Throwable cause) {
+        super(message, cause);
+        this.reason = reason;
+        this.status = status;
+    }
+
+    /**
+     * Instantiates a new SkinFetchException without a cause.
+     *
+     * @param reason  the reason why the request failed. Cannot be null.
+     * @param status  the HTTP status code of the last response or {@link #NO_STATUS}
+     * @param message the detail message
+     * @see NotNull
+     */
+    public SkinFetchException(@NotNull Reason reason, int status, String message) {
+        this(reason, status, message, null);
+    }
+
+    /**
+     * This enum contains the reasons why a skin could not be fetched.
+     */
+    public enum Reason {
+
+        /**
+         * The player does not exist or has no skin.
+         */
+        NOT_FOUND,
+
+        /**
+         * Mojang still answered with HTTP 429 after all retries.
+         */
+        RATE_LIMITED,
+
+        /**
+         * Mojang could not be reached in time or still answered with an error after all retries.
+         */
+        UNAVAILABLE,
+
+        /**
+         * Mojang answered with a response witch could not be parsed.
+         */
+        INVALID_RESPONSE,
+
+        /**
+         * The request was not started because the queue is full, the fetcher was shut down or the worker was interrupted.
+         */
+        REJECTED
+
+    }
+
+}
@@ -0,0 +1,596 @@
+package de.digitaldevs.npc.core.skin;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.MalformedJsonException;
+import de.digitaldevs.npc.core.Plugin;
+import de.digitaldevs.npc.core.base.SkinData;
+import de.digitaldevs.npc.core.enums.SkinPriority;
+import de.digitaldevs.npc.core.skin.SkinFetchException.Reason;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+import org.bukkit.Bukkit;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.HttpURLConnection;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * This class is used for fetching the skins of players from Mojang without blocking the main thread. <br>
+ * The requests are executed by a small pool of worker threads. Its queue is bounded, so a burst of requests is rejected instead of
+ * piling up. The connections are opened by the shared {@link HttpTransport}. Queued requests are started by their {@link SkinPriority}. <br>
+ * Mojang limits the amount of requests per ip address, so each request takes a token of the {@link TokenBucket} first and a burst is paced
+ * instead of failing. If Mojang answers with HTTP 429 or 5xx anyway, the request is retried with an exponential backoff. A request witch
+ * fails for good completes the future exceptionally with a {@link SkinFetchException}. <br>
+ * Fetched skins are stored in the {@link SkinCache}, so each skin is only requested once while it is cached. Concurrent requests for a skin
+ * witch is not cached yet share one request, and all of them are completed together when it finishes. <br>
+ * The names of the skin owners are resolved in batches by the {@link NameResolver}, so only the profiles are requested one by one.
+ *
+ * @author MerryChrismas
+ * @author <a href='https://digitaldevs.de'>DigitalDevs.de</a>
+ * @version 1.1
+ * @since 1.1
+ */
+public class SkinFetcher {
+
+    /**
+     * The default url witch resolves the signed textures of a player by its unique id
+     */
+    public static final String SESSION_URL = "https://sessionserver.mojang.com/session/minecraft/profile/";
+
+    /**
+     * The amount of worker threads
+     */
+    private static final int THREADS = 2;
+
+    /**
+     * The amount of requests witch can wait for a worker thread
+     */
+    private static final int QUEUE_CAPACITY = 256;
+
+    /**
+     * The amount of requests witch can be sent at once by default
+     */
+    public static final int DEFAULT_BURST = 10;
+
+    /**
+     * The amount of requests witch can be sent each second by default. Mojang allows 600 requests in 10 minutes.
+     */
+    public static final double DEFAULT_REQUESTS_PER_SECOND = 1.0D;
+
+    /**
+     * The time in milliseconds to wait before the first retry. It is doubled for each further retry.
+     */
+    private static final long INITIAL_BACKOFF = 500L;
+
+    /**
+     * The maximum time in milliseconds to wait before a retry
+     */
+    private static final long MAX_BACKOFF = TimeUnit.SECONDS.toMillis(30);
+
+    /**
+     * The HTTP status code witch is sent if too many requests were made
+     */
+    private static final int HTTP_TOO_MANY_REQUESTS = 429;
+
+    /**
+     * The amount of times a request is retried if Mojang answers with HTTP 429 or 5xx
+     *
+     * @see Getter
+     * @see Setter
+     */
+    @Getter @Setter private volatile int maxRetries = 4;
+
+    /**
+     * The url witch resolves the signed textures of a player by its unique id. It is followed by the unique id without dashes.
+     *
+     * @see Getter
+     * @see Setter
+     */
+    @Getter @Setter private volatile String sessionUrl = SESSION_URL;
+
+    /**
+     * The bucket witch paces the requests to Mojang. Its rate can be changed with {@link TokenBucket#setRate(int, double)}.
+     *
+     * @see Getter
+     */
+    @Getter private final TokenBucket rateLimiter = new TokenBucket(DEFAULT_BURST, DEFAULT_REQUESTS_PER_SECOND);
+
+    /**
+     * The executor witch runs tasks on the main thread of the server
+     *
+     * @see Getter
+     */
+    @Getter private final Executor mainThreadExecutor = task -> Bukkit.getScheduler().runTask(Plugin.getInstance(), task);
+
+    /**
+     * The cache where the fetched skins are stored
+     *
+     * @see Getter
+     */
+    @Getter private final SkinCache cache;
+
+    /**
+     * The transport witch sends the requests. Its timeouts can be changed there.
+     *
+     * @see Getter
+     */
+    @Getter private final HttpTransport transport;
+
+    /**
+     * The resolver witch resolves the unique ids of the skin owners by their names
+     *
+     * @see Getter
+     */
+    @Getter private final NameResolver nameResolver = new NameResolver(this);
+
+    /**
+     * The requests witch are running at the moment mapped by the unique id of the requested player or the url of a mirror
+     */
+    private final Map<Object, CompletableFuture<SkinData>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * The worker threads witch execute the requests
+     */
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * The counter witch orders requests with the same priority by the time they were made
+     */
+    private final AtomicLong sequence = new AtomicLong();
+
+    /**
+     * Instantiates a new SkinFetcher.
+     *
+     * @param cache     the cache where the fetched skins are stored. Cannot be null.
+     * @param transport the transport witch sends the requests. Cannot be null.
+     * @see NotNull
+     */
+    public SkinFetcher(@NotNull SkinCache cache, @NotNull HttpTransport transport) {
+        this.cache = cache;
+        this.transport = transport;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(THREADS, THREADS, 30L, TimeUnit.SECONDS, new BoundedPriorityQueue(QUEUE_CAPACITY), runnable -> {
+            Thread thread = new Thread(runnable, "NPC Skin Fetcher #" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Fetches the skin of a player on a worker thread with the {@link SkinPriority#NORMAL} priority.
+     *
+     * @param skinOwner the name of an existing player having the skin at this moment. Cannot be null.
+     * @return the future witch is completed with the skin, or completed exceptionally with a {@link SkinFetchException}
+     * @see #fetch(String, SkinPriority)
+     * @see NotNull
+     */
+    public CompletableFuture<SkinData> fetch(@NotNull String skinOwner) {
+        return this.fetch(skinOwner, SkinPriority.NORMAL);
+    }
+
+    /**
+     * Fetches the skin of a player on a worker thread. If the skin is cached, the future is completed immediately. <br>
+     * Otherwise the name is resolved with the next batch of the {@link NameResolver} before the profile is requested. The lookup counts as
+     * one miss of the cache, even though the cache is looked up by the unique id again.
+     *
+     * @param skinOwner the name of an existing player having the skin at this moment. Cannot be null.
+     * @param priority  the priority of the request. Cannot be null.
+     * @return the future witch is completed with the skin, or completed exceptionally with a {@link SkinFetchException}
+     * @see NotNull
+     */
+    public CompletableFuture<SkinData> fetch(@NotNull String skinOwner, @NotNull SkinPriority priority) {
+        SkinData cached = this.cache.get(skinOwner);
+        return cached != null ? CompletableFuture.completedFuture(cached) : this.nameResolver.resolve(skinOwner).thenCompose(uniqueId -> this.fetchResolved(uniqueId, priority));
+    }
+
+    /**
+     * Fetches the skin of a player whose name was resolved after it missed the cache. The skin may be cached under the unique id, e.g.
+     * if the player changed the name, so the cache is looked up again without counting a second miss.
+     *
+     * @param uniqueId the unique id of the player. Cannot be null.
+     * @param priority the priority of the request. Cannot be null.
+     * @return the future witch is completed with the skin, or completed exceptionally with a {@link SkinFetchException}
+     * @see NotNull
+     */
+    private CompletableFuture<SkinData> fetchResolved(@NotNull UUID uniqueId, @NotNull SkinPriority priority) {
+        SkinData cached = this.cache.peek(uniqueId);
+        return cached != null ? CompletableFuture.completedFuture(cached) : this.submit(uniqueId, priority, () -> this.fetchNow(uniqueId));
+    }
+
+    /**
+     * Fetches the skin of a player on a worker thread with the {@link SkinPriority#NORMAL} priority.
+     *
+     * @param uniqueId the unique id of an existing player having the skin at this moment. Cannot be null.
+     * @return the future witch is completed with the skin, or completed exceptionally with a {@link SkinFetchException}
+     * @see #fetch(UUID, SkinPriority)
+     * @see NotNull
+     */
+    public CompletableFuture<SkinData> fetch(@NotNull UUID uniqueId) {
+        return this.fetch(uniqueId, SkinPriority.NORMAL);
+    }
+
+    /**
+     * Fetches the skin of a player on a worker thread. If the skin is cached, the future is completed immediately.
+     *
+     * @param uniqueId the unique id of an existing player having the skin at this moment. Cannot be null.
+     * @param priority the priority of the request. Cannot be null.
+     * @return the future witch is completed with the skin, or completed exceptionally with a {@link SkinFetchException}
+     * @see NotNull
+     */
+    public CompletableFuture<SkinData> fetch(@NotNull UUID uniqueId, @NotNull SkinPriority priority) {
+        SkinData cached = this.cache.get(uniqueId);
+        return cached != null ? CompletableFuture.completedFuture(cached) : this.submit(uniqueId, priority, () -> this.fetchNow(uniqueId));
+    }
+
+    /**
+     * Fetches the skin of a player on the current thread and stores it in the cache. The cache is not looked up.
+     *
+     * @param skinOwner the name of an existing player having the skin at this moment. Cannot be null.
+     * @return the skin
+     * @throws SkinFetchException if the player does not exist or Mojang could not be reached
+     * @see NotNull
+     */
+    public SkinData fetchNow(@NotNull String skinOwner) throws SkinFetchException {
+        UUID uniqueId;
+        try {
+            uniqueId = this.nameResolver.resolve(skinOwner).join();
+        } catch (CompletionException exception) {
+            if (exception.getCause() instanceof SkinFetchException) throw (SkinFetchException) exception.getCause();
+            throw new SkinFetchException(Reason.UNAVAILABLE, SkinFetchException.NO_STATUS, "The name " + skinOwner + " could not be resolved", exception.getCause());
+        }
+        return this.fetchNow(uniqueId);
+    }
+
+    /**
+     * Fetches the skin of a player on the current thread and stores it in the cache. The cache is not looked up.
+     *
+     * @param uniqueId the unique id of an existing player having the skin at this moment. Cannot be null.
+     * @return the skin
+     * @throws SkinFetchException if the player does not exist or Mojang could not be reached
+     * @see NotNull
+     */
+    public SkinData fetchNow(@NotNull UUID uniqueId) throws SkinFetchException {
+        String undashed = uniqueId.toString().replace("-", "");
+        return this.getSkin(this.request(this.sessionUrl + undashed + "?unsigned=false", null, uniqueId.toString(), ProfileParser::readProfile), uniqueId.toString(), this.cache);
+    }
+
+    /**
+     * Fetches a skin from a mirror of the session server on a worker thread. The mirror has to respond with a profile in the format of Mojang.
+     * Concurrent requests for the same url share one request. <br>
+     * The skin is stored in the cache of the mirror instead of the {@link #getCache()}, so a mirror never replaces the skin Mojang sent for a player.
+     *
+     * @param url         the url of the profile. Cannot be null.
+     * @param rateLimiter the bucket witch paces the requests to the mirror. Cannot be null.
+     * @param priority    the priority of the request. Cannot be null.
+     * @param cache       the cache of the mirror. Cannot be null.
+     * @return the future witch is completed with the skin, or completed exceptionally with a {@link SkinFetchException}
+     * @see NotNull
+     */
+    CompletableFuture<SkinData> fetchFrom(@NotNull String url, @NotNull TokenBucket rateLimiter, @NotNull SkinPriority priority, @NotNull SkinCache cache) {
+        return this.submit(url, priority, () -> this.getSkin(this.request(rateLimiter, url, null, url, ProfileParser::readProfile), url, cache));
+    }
+
+    /**
+     * Gets the textures of a profile and stores them in a cache if the profile contains the name and the unique id of the player.
+     *
+     * @param profile   the profile. Cannot be null.
+     * @param skinOwner the name of the player witch is requested. Cannot be null.
+     * @param cache     the cache where the skin is stored. Cannot be null.
+     * @return the skin
+     * @throws SkinFetchException if the profile has no textures
+     * @see NotNull
+     */
+    private SkinData getSkin(@NotNull ProfileParser.Profile profile, @NotNull String skinOwner, @NotNull SkinCache cache) throws SkinFetchException {
+        SkinData skinData = profile.getSkinData();
+        if (skinData == null)
+            throw new SkinFetchException(Reason.NOT_FOUND, HttpURLConnection.HTTP_OK, "The profile of " + skinOwner + " has no textures");
+
+        if (profile.getUniqueId() != null && profile.getName() != null) cache.put(profile.getName(), profile.getUniqueId(), skinData);
+        return skinData;
+    }
+
+    /**
+     * Stops the worker threads and the {@link NameResolver}. Requests witch did not start yet are dropped.
+     */
+    public void shutdown() {
+        this.nameResolver.shutdown();
+        this.executor.shutdownNow();
+    }
+
+    /**
+     * Runs a request on a worker thread. If a request for the same player is already running, no new request is started. <br>
+     * Each caller receives its own dependent future, so completing or cancelling it does not affect the other callers.
+     *
+     * @param key      the unique id of the requested player or the url of a mirror. Cannot be null.
+     * @param priority the priority of the request. Cannot be null.
+     * @param request  the request. Cannot be null.
+     * @return the future witch is completed with the skin, or completed exceptionally with a {@link SkinFetchException}
+     * @see NotNull
+     */
+    private CompletableFuture<SkinData> submit(@NotNull Object key, @NotNull SkinPriority priority, @NotNull SkinRequest request) {
+        CompletableFuture<SkinData> future = new CompletableFuture<>();
+        CompletableFuture<SkinData> running = this.inFlight.putIfAbsent(key, future);
+        if (running != null) return running.thenApply(Function.identity());
+
+        future.whenComplete((skinData, throwable) -> this.inFlight.remove(key, future));
+        try {
+            this.executor.execute(new PrioritizedTask(priority, this.sequence.getAndIncrement(), () -> {
+                try {
+                    future.complete(request.fetch());
+                } catch (SkinFetchException exception) {
+                    future.completeExceptionally(exception);
+                } catch (Throwable throwable) {
+                    future.completeExceptionally(new SkinFetchException(Reason.UNAVAILABLE, SkinFetchException.NO_STATUS, "The skin of " + key + " could not be fetched", throwable));
+                }
+            }));
+        } catch (RejectedExecutionException exception) {
+            future.completeExceptionally(new SkinFetchException(Reason.REJECTED, SkinFetchException.NO_STATUS, "The skin of " + key + " could not be queued", exception));
+        }
+        return future.thenApply(Function.identity());
+    }
+
+    /**
+     * Requests json from Mojang. The request is paced by the {@link #getRateLimiter()}.
+     *
+     * @param url       the url. Cannot be null.
+     * @param body      the json witch is posted or {@code null} if the url is only requested
+     * @param skinOwner the name of the player witch is requested. Cannot be null.
+     * @param parser    the parser witch reads the response. Cannot be null.
+     * @param <T>       the type of the parsed response
+     * @return the parsed response
+     * @throws SkinFetchException if the player does not exist or Mojang could not be reached
+     * @see #request(TokenBucket, String, String, String, ResponseParser)
+     * @see NotNull
+     * @see Nullable
+     */
+    <T> T request(@NotNull String url, @Nullable String body, @NotNull String skinOwner, @NotNull ResponseParser<T> parser) throws SkinFetchException {
+        return this.request(this.rateLimiter, url, body, skinOwner, parser);
+    }
+
+    /**
+     * Requests json from Mojang or a mirror. If a body is given, it is posted as json. Each attempt takes a token of the rate limiter first. <br>
+     * If the server answers with HTTP 429 or 5xx, the rate limiter is paused for the backoff, so the other workers wait as well, and the request is
+     * retried up to {@link #getMaxRetries()} times. The backoff starts at {@value #INITIAL_BACKOFF} milliseconds and is doubled for each retry.
+     * A longer {@code Retry-After} header of the server is respected. <br>
+     * The response is read by the parser straight from the stream of the connection, so the body is never copied into a string.
+     *
+     * @param rateLimiter the bucket witch paces the requests. Cannot be null.
+     * @param url         the url. Cannot be null.
+     * @param body        the json witch is posted or {@code null} if the url is only requested
+     * @param skinOwner   the name of the player witch is requested. Cannot be null.
+     * @param parser      the parser witch reads the response. Cannot be null.
+     * @param <T>         the type of the parsed response
+     * @return the parsed response
+     * @throws SkinFetchException if the player does not exist or Mojang could not be reached
+     * @see NotNull
+     * @see Nullable
+     */
+    <T> T request(@NotNull TokenBucket rateLimiter, @NotNull String url, @Nullable String body, @NotNull String skinOwner,
+                  @NotNull ResponseParser<T> parser) throws SkinFetchException {
+        for (int attempt = 0; ; attempt++) {
+            try {
+                rateLimiter.acquire();
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                throw new SkinFetchException(Reason.REJECTED, SkinFetchException.NO_STATUS, "The request for " + skinOwner + " was interrupted", exception);
+            }
+
+            Attempt<T> result;
+            try {
+                result = this.transport.exchange(url, body, (status, connection, input) -> {
+                    if (status != HttpURLConnection.HTTP_OK) return new Attempt<>(status, connection.getHeaderField("Retry-After"), null);
+                    try {
+                        return new Attempt<>(status, null, parser.parse(new JsonReader(new InputStreamReader(input, StandardCharsets.UTF_8))));
+                    } catch (MalformedJsonException | EOFException | RuntimeException exception) {
+                        throw new SkinFetchException(Reason.INVALID_RESPONSE, status, "Mojang responded with invalid json to " + url, exception);
+                    }
+                });
+            } catch (SkinFetchException exception) {
+                throw exception;
+            } catch (IOException exception) {
+                throw new SkinFetchException(Reason.UNAVAILABLE, SkinFetchException.NO_STATUS, "Mojang could not be reached for " + skinOwner, exception);
+            }
+
+            int status = result.getStatus();
+            if (status == HttpURLConnection.HTTP_OK) return result.getValue();
+            if (status == HttpURLConnection.HTTP_NO_CONTENT || status == HttpURLConnection.HTTP_NOT_FOUND)
+                throw new SkinFetchException(Reason.NOT_FOUND, status, "The player " + skinOwner + " does not exist");
+
+            boolean rateLimited = status == HTTP_TOO_MANY_REQUESTS;
+            if (!rateLimited && status < HttpURLConnection.HTTP_INTERNAL_ERROR)
+                throw new SkinFetchException(Reason.UNAVAILABLE, status, "Mojang responded with " + status + " to " + url);
+            if (attempt >= this.maxRetries)
+                throw new SkinFetchException(rateLimited ? Reason.RATE_LIMITED : Reason.UNAVAILABLE, status,
+                        "Mojang still responded with " + status + " to " + url + " after " + attempt + " retries");
+
+            rateLimiter.pause(getBackoff(attempt, result.getRetryAfter()), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Calculates the time to wait before a retry. A random jitter of up to a quarter is added, so the workers do not retry at once.
+     *
+     * @param attempt    the amount of attempts witch failed before
+     * @param retryAfter the value of the {@code Retry-After} header in seconds or {@code null} if it was not sent
+     * @return the time in milliseconds
+     */
+    private static long getBackoff(int attempt, String retryAfter) {
+        long backoff = Math.min(MAX_BACKOFF, INITIAL_BACKOFF << Math.min(attempt, 16));
+        backoff += ThreadLocalRandom.current().nextLong(backoff / 4 + 1);
+        if (retryAfter == null) return backoff;
+
+        try {
+            return Math.max(backoff, TimeUnit.SECONDS.toMillis(Long.parseLong(retryAfter.trim())));
+        } catch (NumberFormatException exception) {
+            return backoff;
+        }
+    }
+
+    /**
+     * Converts the unique id witch is sent by Mojang without dashes.
+     *
+     * @param undashed the unique id without dashes. Cannot be null.
+     * @return the unique id
+     * @see NotNull
+     */
+    static UUID toUniqueId(@NotNull String undashed) {
+        return new UUID(Long.parseUnsignedLong(undashed.substring(0, 16), 16), Long.parseUnsignedLong(undashed.substring(16), 16));
+    }
+
+    /**
+     * The outcome of one attempt of a request.
+     *
+     * @param <T> the type of the parsed response
+     * @see AllArgsConstructor
+     */
+    @AllArgsConstructor
+    private static final class Attempt<T> {
+
+        /**
+         * The status code of the response
+         */
+        @Getter private final int status;
+
+        /**
+         * The value of the {@code Retry-After} header or {@code null} if it was not sent
+         */
+        @Getter private final String retryAfter;
+
+        /**
+         * The parsed response or {@code null} if the status code is not HTTP 200
+         */
+        @Getter private final T value;
+    }
+
+    /**
+     * This interface represents a parser witch reads a response of Mojang.
+     *
+     * @param <T> the type of the parsed response
+     */
+    @FunctionalInterface
+    interface ResponseParser<T> {
+
+        /**
+         * Reads the response.
+         *
+         * @param reader the reader of the response. Cannot be null.
+         * @return the parsed response
+         * @throws IOException if the response could not be read
+         * @see NotNull
+         */
+        T parse(@NotNull JsonReader reader) throws IOException;
+    }
+
+    /**
+     * This interface represents a request witch fetches a skin.
+     */
+    @FunctionalInterface
+    private interface SkinRequest {
+
+        /**
+         * Fetches the skin.
+         *
+         * @return the skin
+         * @throws SkinFetchException if the skin could not be fetched
+         */
+        SkinData fetch() throws SkinFetchException;
+    }
+
+    /**
+     * A request witch waits in the queue of the worker threads. Requests are ordered by their priority first and by the time they were made.
+     *
+     * @see AllArgsConstructor
+     */
+    @AllArgsConstructor
+    private static final class PrioritizedTask implements Runnable, Comparable<PrioritizedTask> {
+
+        /**
+         * The priority of the request
+         */
+        private final SkinPriority priority;
+
+        /**
+         * The position of the request among all requests
+         */
+        private final long sequence;
+
+        /**
+         * The task witch executes the request
+         */
+        private final Runnable task;
+
+        /**
+         * Executes the request.
+         */
+        @Override
+        public void run() {
+            this.task.run();
+        }
+
+        /**
+         * Compares the order of two requests.
+         *
+         * @param other the other request. Cannot be null.
+         * @return a negative number if this request is started first; a positive number otherwise
+         * @see NotNull
+         */
+        @Override
+        public int compareTo(@NotNull PrioritizedTask other) {
+            int result = this.priority.compareTo(other.priority);
+            return result != 0 ? result : Long.compare(this.sequence, other.sequence);
+        }
+    }
+
+    /**
+     * A priority queue witch holds a limited amount of requests. A request witch does not fit is rejected by the worker threads.
+     */
+    private static final class BoundedPriorityQueue extends PriorityBlockingQueue<Runnable> {
+
+        /**
+         * The maximum amount of requests
+         */
+        private final int capacity;
+
+        /**
+         * Instantiates a new BoundedPriorityQueue.
+         *
+         * @param capacity the maximum amount of requests
+         */
+        private BoundedPriorityQueue(int capacity) {
+            super(capacity);
+            this.capacity = capacity;
+        }
+
+        /**
+         * Adds a request if the queue is not full.
+         *
+         * @param runnable the request
+         * @return {@code true} if the request was added; {@code false} if the queue is full
+         */
+        @Override
+        public boolean offer(Runnable runnable) {
+            return this.size() < this.capacity && super.offer(runnable);
+        }
+    }
+
+}
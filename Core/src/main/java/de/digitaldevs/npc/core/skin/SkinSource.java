@@ -0,0 +1,32 @@
+package de.digitaldevs.npc.core.skin;
+
+import de.digitaldevs.npc.core.base.SkinData;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * This interface represents a source where the skins of the NPCs are loaded from. <br>
+ * The built-in sources are the {@link RawSkinSource}, the {@link DirectorySkinSource}, the {@link MirrorSkinSource} and the
+ * {@link MojangSkinSource}. Several sources can be tried one after another with the {@link ChainSkinSource}, e.g. a directory of pre-baked
+ * skins first and Mojang only for the skins witch are missing there.
+ *
+ * @author MerryChrismas
+ * @author <a href='https://digitaldevs.de'>DigitalDevs.de</a>
+ * @version 1.1
+ * @since 1.1
+ */
+@FunctionalInterface
+public interface SkinSource {
+
+    /**
+     * Loads a skin. This method must not block, a source witch has to wait for a response completes the future later.
+     *
+     * @param name the name of the skin, e.g. the name of the player owning it. Cannot be null.
+     * @return the future witch is completed with the skin, or completed exceptionally with a {@link SkinFetchException} if the source
+     * does not know the skin or could not load it
+     * @see NotNull
+     */
+    CompletableFuture<SkinData> getSkin(@NotNull String name);
+
+}
@@ -0,0 +1,131 @@
+package de.digitaldevs.npc.core.skin;
+
+import lombok.Getter;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class is used for pacing the requests to Mojang, witch limits the amount of requests per ip address. <br>
+ * The bucket holds at most {@link #getCapacity()} tokens and is refilled with {@link #getTokensPerSecond()} tokens per second. Each request
+ * takes one token, so a burst of requests is paced to the refill rate instead of being answered with HTTP 429. <br>
+ * If Mojang answers with HTTP 429 anyway, the bucket can be paused, so no worker sends a request until the pause is over.
+ *
+ * @author MerryChrismas
+ * @author <a href='https://digitaldevs.de'>DigitalDevs.de</a>
+ * @version 1.1
+ * @since 1.1
+ */
+public class TokenBucket {
+
+    /**
+     * The maximum amount of tokens
+     *
+     * @see Getter
+     */
+    @Getter private int capacity;
+
+    /**
+     * The amount of tokens witch are added each second
+     *
+     * @see Getter
+     */
+    @Getter private double tokensPerSecond;
+
+    /**
+     * The amount of tokens witch are available at the moment
+     */
+    private double tokens;
+
+    /**
+     * The time in nanoseconds when the tokens were refilled the last time
+     */
+    private long lastRefill = System.nanoTime();
+
+    /**
+     * The time in nanoseconds until no token is handed out
+     */
+    private long pausedUntil = this.lastRefill;
+
+    /**
+     * Instantiates a new TokenBucket witch is full.
+     *
+     * @param capacity        the maximum amount of tokens
+     * @param tokensPerSecond the amount of tokens witch are added each second
+     */
+    public TokenBucket(int capacity, double tokensPerSecond) {
+        this.setRate(capacity, tokensPerSecond);
+        this.tokens = capacity;
+    }
+
+    /**
+     * Changes the size and the refill rate of the bucket. Tokens witch exceed the new capacity are dropped.
+     *
+     * @param capacity        the maximum amount of tokens
+     * @param tokensPerSecond the amount of tokens witch are added each second
+     */
+    public synchronized void setRate(int capacity, double tokensPerSecond) {
+        if (capacity < 1 || tokensPerSecond <= 0)
+            throw new IllegalArgumentException("The capacity and the refill rate have to be positive");
+
+        this.refill(System.nanoTime());
+        this.capacity = capacity;
+        this.tokensPerSecond = tokensPerSecond;
+        this.tokens = Math.min(this.tokens, capacity);
+    }
+
+    /**
+     * Takes a token and waits until one is available if the bucket is empty or paused.
+     *
+     * @throws InterruptedException if the current thread was interrupted while waiting
+     */
+    public void acquire() throws InterruptedException {
+        long wait;
+        while ((wait = this.tryAcquire()) > 0) TimeUnit.NANOSECONDS.sleep(wait);
+    }
+
+    /**
+     * Takes a token if one is available.
+     *
+     * @return {@code 0} if a token was taken; the time in nanoseconds until the next token is available otherwise
+     */
+    public synchronized long tryAcquire() {
+        long now = System.nanoTime();
+        if (now - this.pausedUntil < 0) return this.pausedUntil - now;
+
+        this.refill(now);
+        if (this.tokens >= 1) {
+            this.tokens--;
+            return 0;
+        }
+        return Math.max(1L, (long) ((1 - this.tokens) / this.tokensPerSecond * TimeUnit.SECONDS.toNanos(1)));
+    }
+
+    /**
+     * Empties the bucket and hands out no token until the pause is over. A shorter pause does not shorten a pause witch is running.
+     *
+     * @param duration the duration of the pause
+     * @param unit     the unit of the duration
+     */
+    public synchronized void pause(long duration, TimeUnit unit) {
+        long now = System.nanoTime();
+        long until = now + unit.toNanos(duration);
+        if (until - this.pausedUntil > 0) this.pausedUntil = until;
+
+        this.tokens = 0;
+        this.lastRefill = this.pausedUntil;
+    }
+
+    /**
+     * Adds the tokens witch were refilled since the last refill.
+     *
+     * @param now the current time in nanoseconds
+     */
+    private void refill(long now) {
+        long elapsed = now - this.lastRefill;
+        if (elapsed <= 0) return;
+
+        this.tokens = Math.min(this.capacity, this.tokens + elapsed * this.tokensPerSecond / TimeUnit.SECONDS.toNanos(1));
+        this.lastRefill = now;
+    }
+
+}
@@ -0,0 +1,299 @@
+package de.digitaldevs.npc.core.network;
+
+import de.digitaldevs.npc.core.NpcAPI;
+import de.digitaldevs.npc.core.registry.NPCRegistry;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.MessageToByteEncoder;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * This class tests that the {@link PacketBroadcaster} only writes encoded packets below the server's own encoder and releases every buffer
+ * it allocates. <br>
+ * The channels are built like the pipeline of the server: a length prepender below the handler witch is registered as encoder. Both are
+ * real encoders of netty, so the buffers are released by netty like on a server.
+ *
+ * @author MerryChrismas
+ * @author <a href='https://digitaldevs.de'>DigitalDevs.de</a>
+ * @version 1.1
+ * @since 1.1
+ */
+public class PacketBroadcasterTest {
+
+    /**
+     * The id of the test packet
+     */
+    private static final int PACKET_ID = 300;
+
+    /**
+     * The packet witch is broadcast by the tests
+     */
+    private static final TestPacket PACKET = new TestPacket(PACKET_ID, (byte) 7);
+
+    /**
+     * The queue of the api
+     */
+    private PacketQueue queue;
+
+    /**
+     * The channels created by the current test
+     */
+    private final List<EmbeddedChannel> channels = new ArrayList<>();
+
+    @Before
+    public void createApi() {
+        this.queue = new NpcAPI(new NPCRegistry(), null).getPacketQueue();
+        this.queue.setBatching(false);
+    }
+
+    @After
+    public void closeChannels() {
+        this.channels.forEach(EmbeddedChannel::finish);
+    }
+
+    @Test
+    public void releasesBufferAfterAllWrites() {
+        EmbeddedChannel first = this.channel(new ServerEncoder());
+        EmbeddedChannel second = this.channel(new ServerEncoder());
+        ByteBuf encoded = Unpooled.buffer().writeByte(1).writeByte(2);
+
+        PacketBroadcaster.broadcast(Arrays.asList(first, second), encoded);
+
+        assertEquals(0, encoded.refCnt());
+        assertWritten(first, "02" + "0102");
+        assertWritten(second, "02" + "0102");
+    }
+
+    @Test
+    public void releasesBufferAfterBatchedWrites() {
+        this.queue.setBatching(true);
+        EmbeddedChannel channel = this.channel(new ServerEncoder());
+        ByteBuf encoded = Unpooled.buffer().writeByte(1).writeByte(2);
+
+        PacketBroadcaster.broadcast(Collections.singletonList(channel), encoded);
+        assertNull(channel.readOutbound());
+
+        this.queue.run();
+        assertEquals(0, encoded.refCnt());
+        assertWritten(channel, "02" + "0102");
+    }
+
+    @Test
+    public void releasesBufferOfDisconnectedChannel() {
+        EmbeddedChannel channel = this.channel(null);
+        ByteBuf encoded = Unpooled.buffer().writeByte(1);
+
+        this.queue.writeEncoded(channel, encoded);
+
+        assertEquals(0, encoded.refCnt());
+        assertNull(channel.readOutbound());
+    }
+
+    @Test
+    public void writesEncodedPacketBelowServerEncoder() throws IOException {
+        EmbeddedChannel first = this.channel(new ServerEncoder());
+        EmbeddedChannel second = this.channel(new ServerEncoder());
+        AtomicReference<ByteBuf> allocated = new AtomicReference<>();
+
+        PacketBroadcaster.broadcast(Arrays.<Channel>asList(first, second), ServerEncoder.class, PACKET_ID, buffer -> {
+            allocated.set(buffer);
+            buffer.writeByte(PACKET.getData());
+        }, PACKET);
+
+        assertEquals(0, allocated.get().refCnt());
+        assertWritten(first, "03" + "ac02" + "07");
+        assertWritten(second, "03" + "ac02" + "07");
+    }
+
+    @Test
+    public void fallsBackToPacketForOtherEncoders() throws IOException {
+        EmbeddedChannel server = this.channel(new ServerEncoder());
+        EmbeddedChannel translating = this.channel(new TranslatingEncoder());
+        EmbeddedChannel subclass = this.channel(new ServerEncoder() {
+            @Override
+            protected void encode(ChannelHandlerContext context, TestPacket packet, ByteBuf out) {
+                out.writeByte(0xEE);
+                super.encode(context, packet, out);
+            }
+        });
+        EmbeddedChannel missing = this.channel(null);
+        AtomicReference<ByteBuf> allocated = new AtomicReference<>();
+
+        PacketBroadcaster.broadcast(Arrays.<Channel>asList(server, translating, subclass, missing), ServerEncoder.class, PACKET_ID, buffer -> {
+            allocated.set(buffer);
+            buffer.writeByte(PACKET.getData());
+        }, PACKET);
+
+        assertEquals(0, allocated.get().refCnt());
+        assertWritten(server, "03" + "ac02" + "07");
+        assertWritten(translating, "04" + "ff" + "ac02" + "07");
+        assertWritten(subclass, "04" + "ee" + "ac02" + "07");
+        assertSame(PACKET, missing.readOutbound());
+        assertNull(missing.readOutbound());
+    }
+
+    @Test
+    public void doesNotEncodeWithoutServerEncoder() throws IOException {
+        EmbeddedChannel translating = this.channel(new TranslatingEncoder());
+
+        PacketBroadcaster.broadcast(Collections.<Channel>singletonList(translating), ServerEncoder.class, PACKET_ID, buffer -> {
+            fail("The packet was encoded for a channel without the server's encoder");
+        }, PACKET);
+
+        assertWritten(translating, "04" + "ff" + "ac02" + "07");
+    }
+
+    @Test
+    public void releasesPacketWitchCouldNotBeSerialized() {
+        EmbeddedChannel channel = this.channel(new ServerEncoder());
+        AtomicReference<ByteBuf> allocated = new AtomicReference<>();
+
+        try {
+            PacketBroadcaster.broadcast(Collections.<Channel>singletonList(channel), ServerEncoder.class, PACKET_ID, buffer -> {
+                allocated.set(buffer);
+                throw new IOException("Broken item");
+            }, PACKET);
+            fail("The failure of the writer was swallowed");
+        } catch (IOException expected) {
+            assertEquals(0, allocated.get().refCnt());
+        }
+        assertNull(channel.readOutbound());
+    }
+
+    @Test
+    public void acceptsOnlyServerEncoder() {
+        EmbeddedChannel server = this.channel(new ServerEncoder());
+        EmbeddedChannel translating = this.channel(new TranslatingEncoder());
+        EmbeddedChannel missing = this.channel(null);
+
+        assertTrue(PacketBroadcaster.isServerEncoder(server, ServerEncoder.class));
+        assertFalse(PacketBroadcaster.isServerEncoder(translating, ServerEncoder.class));
+        assertFalse(PacketBroadcaster.isServerEncoder(missing, ServerEncoder.class));
+        assertTrue(PacketBroadcaster.canWriteEncoded(Collections.<Channel>singletonList(server), ServerEncoder.class));
+        assertFalse(PacketBroadcaster.canWriteEncoded(Arrays.<Channel>asList(server, translating), ServerEncoder.class));
+    }
+
+    /**
+     * Creates a channel with a pipeline like the one of the server.
+     *
+     * @param encoder the handler witch is registered as encoder or {@code null} if the channel has none
+     * @return the channel
+     */
+    private EmbeddedChannel channel(MessageToByteEncoder<TestPacket> encoder) {
+        EmbeddedChannel channel = new EmbeddedChannel();
+        channel.pipeline().addLast("prepender", new LengthPrepender());
+        if (encoder != null) channel.pipeline().addLast(PacketBroadcaster.ENCODER, encoder);
+        this.channels.add(channel);
+        return channel;
+    }
+
+    /**
+     * Reads the bytes witch were written to a channel and releases them like the network would.
+     *
+     * @param channel  the channel
+     * @param expected the expected bytes as hex
+     */
+    private static void assertWritten(EmbeddedChannel channel, String expected) {
+        ByteBuf written = channel.readOutbound();
+        try {
+            assertEquals(expected, ByteBufUtil.hexDump(written));
+        } finally {
+            written.release();
+        }
+        assertNull(channel.readOutbound());
+    }
+
+    /**
+     * A packet witch consists of its id and one byte of data.
+     */
+    private static final class TestPacket {
+
+        /**
+         * The id of the packet
+         */
+        private final int id;
+
+        /**
+         * The data of the packet
+         */
+        private final byte data;
+
+        /**
+         * Instantiates a new TestPacket.
+         *
+         * @param id   the id of the packet
+         * @param data the data of the packet
+         */
+        private TestPacket(int id, byte data) {
+            this.id = id;
+            this.data = data;
+        }
+
+        /**
+         * Gets the data of the packet.
+         *
+         * @return the data
+         */
+        private byte getData() {
+            return this.data;
+        }
+    }
+
+    /**
+     * The encoder of the server. It writes the id of a packet followed by its data.
+     */
+    private static class ServerEncoder extends MessageToByteEncoder<TestPacket> {
+
+        @Override
+        protected void encode(ChannelHandlerContext context, TestPacket packet, ByteBuf out) {
+            PacketBroadcaster.writeVarInt(out, packet.id);
+            out.writeByte(packet.data);
+        }
+    }
+
+    /**
+     * An encoder witch replaced the encoder of the server, like the one of ViaVersion. It marks each packet it translated.
+     */
+    private static final class TranslatingEncoder extends MessageToByteEncoder<TestPacket> {
+
+        @Override
+        protected void encode(ChannelHandlerContext context, TestPacket packet, ByteBuf out) {
+            out.writeByte(0xFF);
+            PacketBroadcaster.writeVarInt(out, packet.id);
+            out.writeByte(packet.data);
+        }
+    }
+
+    /**
+     * The prepender of the server. It writes the length of each packet in front of it.
+     */
+    private static final class LengthPrepender extends MessageToByteEncoder<ByteBuf> {
+
+        @Override
+        protected void encode(ChannelHandlerContext context, ByteBuf packet, ByteBuf out) {
+            PacketBroadcaster.writeVarInt(out, packet.readableBytes());
+            out.writeBytes(packet);
+        }
+    }
+
+}
@@ -0,0 +1,183 @@
+package de.digitaldevs.npc.core.network;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * This class tests the bytes written by the {@link RawPacketCodec} against the layouts of the protocol. <br>
+ * The expected bytes are taken from the documented layouts of the protocol and not from the codec, so a change of the layout fails the
+ * test instead of the client. They are not compared with the packets of the server, because the version modules cannot be tested without
+ * the server.
+ *
+ * @author MerryChrismas
+ * @author <a href='https://digitaldevs.de'>DigitalDevs.de</a>
+ * @version 1.1
+ * @since 1.1
+ */
+public class RawPacketCodecTest {
+
+    /**
+     * The buffer witch is written by the current test
+     */
+    private final ByteBuf buffer = Unpooled.buffer();
+
+    @After
+    public void release() {
+        this.buffer.release();
+    }
+
+    @Test
+    public void writesVarInts() {
+        assertVarInt("00", 0);
+        assertVarInt("01", 1);
+        assertVarInt("7f", 127);
+        assertVarInt("8001", 128);
+        assertVarInt("ff01", 255);
+        assertVarInt("ac02", 300);
+        assertVarInt("ffff7f", 2097151);
+        assertVarInt("ffffffff07", Integer.MAX_VALUE);
+        assertVarInt("ffffffff0f", -1);
+        assertVarInt("8080808008", Integer.MIN_VALUE);
+    }
+
+    @Test
+    public void writesFixedPointTeleport() {
+        codec(ProtocolLayout.V1_8).writeTeleport(this.buffer, 300, 1.5D, 64.0D, -0.5D, (byte) 64, (byte) -32, true);
+        assertBytes("ac02" + "00000030" + "00000800" + "fffffff0" + "40" + "e0" + "01");
+    }
+
+    @Test
+    public void floorsFixedPointTeleport() {
+        codec(ProtocolLayout.V1_8).writeTeleport(this.buffer, 1, -0.01D, 0.99D, 100.0D, (byte) 0, (byte) 0, false);
+        assertBytes("01" + "ffffffff" + "0000001f" + "00000c80" + "00" + "00" + "00");
+    }
+
+    @Test
+    public void writesDoubleTeleport() {
+        codec(ProtocolLayout.V1_9).writeTeleport(this.buffer, 300, 1.5D, 64.0D, -0.5D, (byte) 64, (byte) -32, true);
+        assertBytes("ac02" + "3ff8000000000000" + "4050000000000000" + "bfe0000000000000" + "40" + "e0" + "01");
+    }
+
+    @Test
+    public void writesByteRelativeMove() {
+        codec(ProtocolLayout.V1_8).writeRelativeMoveLook(this.buffer, 300, 32L, -1L, 127L, (byte) 64, (byte) -32, true);
+        assertBytes("ac02" + "20" + "ff" + "7f" + "40" + "e0" + "01");
+    }
+
+    @Test
+    public void writesShortRelativeMove() {
+        codec(ProtocolLayout.V1_9).writeRelativeMoveLook(this.buffer, 300, 4096L, -1L, 32767L, (byte) 64, (byte) -32, false);
+        assertBytes("ac02" + "1000" + "ffff" + "7fff" + "40" + "e0" + "00");
+    }
+
+    @Test
+    public void writesLook() {
+        for (ProtocolLayout layout : ProtocolLayout.values()) {
+            ByteBuf buffer = Unpooled.buffer();
+            try {
+                codec(layout).writeLook(buffer, 128, (byte) 127, (byte) -128, true);
+                assertEquals(layout.name(), "8001" + "7f" + "80" + "01", ByteBufUtil.hexDump(buffer));
+            } finally {
+                buffer.release();
+            }
+        }
+    }
+
+    @Test
+    public void writesHeadRotation() {
+        for (ProtocolLayout layout : ProtocolLayout.values()) {
+            ByteBuf buffer = Unpooled.buffer();
+            try {
+                codec(layout).writeHeadRotation(buffer, 300, (byte) -64);
+                assertEquals(layout.name(), "ac02" + "c0", ByteBufUtil.hexDump(buffer));
+            } finally {
+                buffer.release();
+            }
+        }
+    }
+
+    @Test
+    public void writesAnimation() {
+        for (ProtocolLayout layout : ProtocolLayout.values()) {
+            ByteBuf buffer = Unpooled.buffer();
+            try {
+                codec(layout).writeAnimation(buffer, 128, 3);
+                assertEquals(layout.name(), "8001" + "03", ByteBufUtil.hexDump(buffer));
+            } finally {
+                buffer.release();
+            }
+        }
+    }
+
+    @Test
+    public void resolvesPacketIDsOnce() {
+        int[] calls = new int[1];
+        RawPacketCodec codec = new RawPacketCodec(ProtocolLayout.V1_9, type -> {
+            calls[0]++;
+            return 0x40 + type.ordinal();
+        });
+
+        for (RawPacketType type : RawPacketType.values())
+            assertEquals(type.name(), 0x40 + type.ordinal(), codec.getPacketID(type));
+        assertEquals(RawPacketType.values().length, calls[0]);
+    }
+
+    @Test
+    public void writesDestroy() {
+        codec(ProtocolLayout.V1_8).writeDestroy(this.buffer, 1, 128, 300);
+        assertBytes("03" + "01" + "8001" + "ac02");
+    }
+
+    @Test
+    public void writesEmptyDestroy() {
+        codec(ProtocolLayout.V1_9).writeDestroy(this.buffer);
+        assertBytes("00");
+    }
+
+    @Test
+    public void writesStatus() {
+        codec(ProtocolLayout.V1_8).writeStatus(this.buffer, 300, (byte) 3);
+        assertBytes("0000012c" + "03");
+    }
+
+    /**
+     * Creates a codec witch uses the ordinal of each packet as its id.
+     *
+     * @param layout the layout of the packets
+     * @return the codec
+     */
+    private static RawPacketCodec codec(ProtocolLayout layout) {
+        return new RawPacketCodec(layout, Enum::ordinal);
+    }
+
+    /**
+     * Checks the bytes of a var int.
+     *
+     * @param expected the expected bytes as hex
+     * @param value    the value
+     */
+    private static void assertVarInt(String expected, int value) {
+        ByteBuf buffer = Unpooled.buffer();
+        try {
+            PacketBroadcaster.writeVarInt(buffer, value);
+            assertEquals(String.valueOf(value), expected, ByteBufUtil.hexDump(buffer));
+        } finally {
+            buffer.release();
+        }
+    }
+
+    /**
+     * Checks the bytes written by the current test.
+     *
+     * @param expected the expected bytes as hex
+     */
+    private void assertBytes(String expected) {
+        assertEquals(expected, ByteBufUtil.hexDump(this.buffer));
+    }
+
+}
@@ -0,0 +1,91 @@
+package de.digitaldevs.npc.core.skin;
+
+import de.digitaldevs.npc.core.base.SkinData;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * This class tests that the skins of a {@link MirrorSkinSource} are kept apart from the skins Mojang sent.
+ *
+ * @author MerryChrismas
+ * @author <a href='https://digitaldevs.de'>DigitalDevs.de</a>
+ * @version 1.1
+ * @since 1.1
+ */
+public class MirrorSkinSourceTest {
+
+    /**
+     * The unique id of the player witch is served by the mirror and by Mojang
+     */
+    private static final UUID UNIQUE_ID = UUID.fromString("069a79f4-44e9-4726-a5be-fca90e38aaf5");
+
+    /**
+     * The server witch stands in for the mirror and for Mojang
+     */
+    private StandInServer server;
+
+    /**
+     * The fetcher
+     */
+    private SkinFetcher fetcher;
+
+    /**
+     * The mirror
+     */
+    private MirrorSkinSource mirror;
+
+    @Before
+    public void start() throws Exception {
+        this.server = new StandInServer((request, exchange) -> {
+            String profile = StandInServer.profile(UNIQUE_ID, "Notch");
+            if (request.getPath().startsWith("/mirror/")) profile = profile.replace("value-Notch", "mirrored-Notch");
+            StandInServer.respond(exchange, 200, profile);
+        });
+        this.fetcher = new SkinFetcher(new SkinCache(), new HttpTransport());
+        this.fetcher.setSessionUrl(this.server.getUrl("/session/minecraft/profile/"));
+        this.mirror = new MirrorSkinSource(this.fetcher, this.server.getUrl("/mirror/"));
+    }
+
+    @After
+    public void stop() {
+        this.fetcher.shutdown();
+        this.server.close();
+    }
+
+    @Test
+    public void mirroredSkinIsNotStoredInSharedCache() throws Exception {
+        SkinData mirrored = this.mirror.getSkin("Notch").get(10, TimeUnit.SECONDS);
+
+        assertEquals("mirrored-Notch", mirrored.getValue());
+        assertNull(this.fetcher.getCache().get("Notch"));
+        assertNull(this.fetcher.getCache().get(UNIQUE_ID));
+        assertEquals(0, this.fetcher.getCache().size());
+        assertSame(mirrored, this.mirror.getCache().get("Notch"));
+    }
+
+    @Test
+    public void mojangLookupIsNotPoisonedByMirror() throws Exception {
+        this.mirror.getSkin("Notch").get(10, TimeUnit.SECONDS);
+
+        assertEquals("value-Notch", this.fetcher.fetch(UNIQUE_ID).get(10, TimeUnit.SECONDS).getValue());
+        assertEquals(1, this.server.getRequests(StandInServer.profilePath(UNIQUE_ID)).size());
+    }
+
+    @Test
+    public void mirroredSkinIsCachedByMirror() throws Exception {
+        SkinData mirrored = this.mirror.getSkin("Notch").get(10, TimeUnit.SECONDS);
+
+        assertSame(mirrored, this.mirror.getSkin("notch").get(10, TimeUnit.SECONDS));
+        assertEquals(1, this.server.getRequests("/mirror/Notch").size());
+        assertEquals(1, this.server.getRequests().size());
+    }
+
+}
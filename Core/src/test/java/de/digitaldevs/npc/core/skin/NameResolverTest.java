@@ -0,0 +1,178 @@
+package de.digitaldevs.npc.core.skin;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import de.digitaldevs.npc.core.skin.SkinFetchException.Reason;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * This class tests that the {@link NameResolver} resolves concurrent names with as few requests as possible.
+ *
+ * @author MerryChrismas
+ * @author <a href='https://digitaldevs.de'>DigitalDevs.de</a>
+ * @version 1.1
+ * @since 1.1
+ */
+public class NameResolverTest {
+
+    /**
+     * The path of the bulk profiles endpoint
+     */
+    private static final String PROFILES_PATH = "/profiles/minecraft";
+
+    /**
+     * The name witch does not exist
+     */
+    private static final String MISSING = "missing";
+
+    /**
+     * The server witch stands in for Mojang
+     */
+    private StandInServer server;
+
+    /**
+     * The fetcher witch sends the requests of the resolver
+     */
+    private SkinFetcher fetcher;
+
+    /**
+     * The resolver
+     */
+    private NameResolver resolver;
+
+    @Before
+    public void start() throws Exception {
+        this.server = new StandInServer((request, exchange) -> {
+            JsonArray profiles = new JsonArray();
+            for (JsonElement name : names(request)) {
+                if (name.getAsString().equals(MISSING)) continue;
+
+                JsonObject profile = new JsonObject();
+                profile.addProperty("id", StandInServer.undashed(uniqueId(name.getAsString())));
+                profile.addProperty("name", name.getAsString().toUpperCase(Locale.ROOT));
+                profiles.add(profile);
+            }
+            StandInServer.respond(exchange, 200, profiles.toString());
+        });
+        this.fetcher = new SkinFetcher(new SkinCache(), new HttpTransport());
+        this.fetcher.getRateLimiter().setRate(10, 100.0D);
+        this.resolver = this.fetcher.getNameResolver();
+        this.resolver.setProfilesUrl(this.server.getUrl(PROFILES_PATH));
+    }
+
+    @After
+    public void stop() {
+        this.fetcher.shutdown();
+        this.server.close();
+    }
+
+    @Test
+    public void concurrentNamesAreSentInFullBatches() throws Exception {
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<CompletableFuture<UUID>>> lookups = new ArrayList<>();
+        try {
+            for (int i = 0; i < 25; i++) {
+                String name = "Player" + i;
+                lookups.add(callers.submit(() -> {
+                    start.await();
+                    return this.resolver.resolve(name);
+                }));
+            }
+            start.countDown();
+
+            for (int i = 0; i < lookups.size(); i++)
+                assertEquals(uniqueId("player" + i), lookups.get(i).get(10, TimeUnit.SECONDS).get(10, TimeUnit.SECONDS));
+        } finally {
+            callers.shutdownNow();
+        }
+
+        List<StandInServer.Request> requests = this.server.getRequests(PROFILES_PATH);
+        assertEquals(3, requests.size());
+
+        Set<String> sent = new HashSet<>();
+        for (StandInServer.Request request : requests) {
+            assertEquals("POST", request.getMethod());
+            JsonArray names = names(request);
+            assertTrue(names.size() + " names were sent at once", names.size() <= NameResolver.BATCH_SIZE);
+            names.forEach(name -> assertTrue(name + " was sent twice", sent.add(name.getAsString())));
+        }
+        assertEquals(25, sent.size());
+    }
+
+    @Test
+    public void namesAreMatchedIgnoringCase() throws Exception {
+        CompletableFuture<UUID> lower = this.resolver.resolve("notch");
+        CompletableFuture<UUID> upper = this.resolver.resolve("NOTCH");
+        CompletableFuture<UUID> mixed = this.resolver.resolve("Notch");
+
+        UUID expected = uniqueId("notch");
+        assertEquals(expected, lower.get(10, TimeUnit.SECONDS));
+        assertEquals(expected, upper.get(10, TimeUnit.SECONDS));
+        assertEquals(expected, mixed.get(10, TimeUnit.SECONDS));
+
+        List<StandInServer.Request> requests = this.server.getRequests(PROFILES_PATH);
+        assertEquals(1, requests.size());
+        assertEquals("[\"notch\"]", requests.get(0).getBody());
+    }
+
+    @Test
+    public void missingNameFailsAlone() throws Exception {
+        CompletableFuture<UUID> existing = this.resolver.resolve("jeb_");
+        CompletableFuture<UUID> missing = this.resolver.resolve(MISSING);
+
+        assertEquals(uniqueId("jeb_"), existing.get(10, TimeUnit.SECONDS));
+        try {
+            missing.get(10, TimeUnit.SECONDS);
+            fail("A missing name was resolved");
+        } catch (ExecutionException exception) {
+            assertTrue(exception.getCause() instanceof SkinFetchException);
+            assertEquals(Reason.NOT_FOUND, ((SkinFetchException) exception.getCause()).getReason());
+        }
+        assertEquals(1, this.server.getRequests().size());
+    }
+
+    /**
+     * Reads the names of a request to the bulk profiles endpoint.
+     *
+     * @param request the request
+     * @return the names
+     */
+    private static JsonArray names(StandInServer.Request request) {
+        return new JsonParser().parse(request.getBody()).getAsJsonArray();
+    }
+
+    /**
+     * Creates the unique id of a player witch is sent by the server.
+     *
+     * @param name the name of the player
+     * @return the unique id
+     */
+    private static UUID uniqueId(String name) {
+        return UUID.nameUUIDFromBytes(name.toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8));
+    }
+
+}
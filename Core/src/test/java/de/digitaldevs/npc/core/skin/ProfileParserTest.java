@@ -0,0 +1,329 @@
+package de.digitaldevs.npc.core.skin;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import de.digitaldevs.npc.core.base.SkinData;
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * This class tests the {@link ProfileParser} with responses in the format of Mojang. <br>
+ * Each response is also read into a tree of json elements the way the responses were read before they were streamed, so the test shows
+ * that the streamed result matches the result of the tree and how many bytes each of them allocates per lookup.
+ *
+ * @author MerryChrismas
+ * @author <a href='https://digitaldevs.de'>DigitalDevs.de</a>
+ * @version 1.1
+ * @since 1.1
+ */
+public class ProfileParserTest {
+
+    /**
+     * The unique id of Notch
+     */
+    private static final UUID NOTCH = UUID.fromString("069a79f4-44e9-4726-a5be-fca90e38aaf5");
+
+    /**
+     * The unique id of jeb_
+     */
+    private static final UUID JEB = UUID.fromString("853c80ef-3c37-49fd-aa49-938b674adae6");
+
+    /**
+     * The unique id of Dinnerbone
+     */
+    private static final UUID DINNERBONE = UUID.fromString("61699b2e-d327-4a01-9f1e-0ea8c3f06bc6");
+
+    /**
+     * The amount of lookups witch warm up a parser before its allocations are measured
+     */
+    private static final int WARM_UP_LOOKUPS = 20_000;
+
+    /**
+     * The amount of lookups whose allocations are measured
+     */
+    private static final int MEASURED_LOOKUPS = 10_000;
+
+    /**
+     * The result of the last measured lookup, so the lookups can not be optimized away
+     */
+    private static volatile Object lastResult;
+
+    @Test
+    public void readsSignedTextures() throws IOException {
+        ProfileParser.Profile profile = readProfile("profile-signed.json");
+
+        assertEquals(NOTCH, profile.getUniqueId());
+        assertEquals("Notch", profile.getName());
+        assertNotNull(profile.getSkinData());
+        assertSameSkin(readTree("profile-signed.json"), profile.getSkinData());
+    }
+
+    @Test
+    public void ignoresUnsignedTextures() throws IOException {
+        ProfileParser.Profile profile = readProfile("profile-unsigned.json");
+
+        assertEquals(NOTCH, profile.getUniqueId());
+        assertNull(profile.getSkinData());
+        assertNoTreeSkin("profile-unsigned.json");
+    }
+
+    @Test
+    public void readsProfileWithoutProperties() throws IOException {
+        ProfileParser.Profile profile = readProfile("profile-no-properties.json");
+
+        assertEquals(JEB, profile.getUniqueId());
+        assertEquals("jeb_", profile.getName());
+        assertNull(profile.getSkinData());
+        assertNoTreeSkin("profile-no-properties.json");
+    }
+
+    @Test
+    public void skipsExtraFields() throws IOException {
+        ProfileParser.Profile profile = readProfile("profile-extra-fields.json");
+
+        assertEquals(DINNERBONE, profile.getUniqueId());
+        assertEquals("Dinnerbone", profile.getName());
+        assertNotNull(profile.getSkinData());
+        assertSameSkin(readTree("profile-extra-fields.json"), profile.getSkinData());
+    }
+
+    @Test
+    public void readsBulkProfiles() throws IOException {
+        Map<String, UUID> uniqueIds;
+        try (Reader reader = open("profiles.json")) {
+            uniqueIds = ProfileParser.readProfiles(new JsonReader(reader));
+        }
+
+        assertEquals(3, uniqueIds.size());
+        assertEquals(NOTCH, uniqueIds.get("notch"));
+        assertEquals(JEB, uniqueIds.get("jeb_"));
+        assertEquals(DINNERBONE, uniqueIds.get("dinnerbone"));
+        assertEquals(readProfilesTree("profiles.json"), uniqueIds);
+    }
+
+    @Test
+    public void streamingAllocatesLessThanTree() throws IOException {
+        com.sun.management.ThreadMXBean threads = allocationCounter();
+
+        for (String fixture : new String[]{"profile-signed.json", "profile-extra-fields.json"}) {
+            String response = read(fixture);
+            long streamed = allocatedPerLookup(threads, () -> ProfileParser.readProfile(new JsonReader(new StringReader(response))));
+            long tree = allocatedPerLookup(threads, () -> readTree(new StringReader(response)));
+            assertAllocatesLess(fixture, streamed, tree);
+        }
+
+        String response = read("profiles.json");
+        long streamed = allocatedPerLookup(threads, () -> ProfileParser.readProfiles(new JsonReader(new StringReader(response))));
+        long tree = allocatedPerLookup(threads, () -> readProfilesTree(new StringReader(response)));
+        assertAllocatesLess("profiles.json", streamed, tree);
+    }
+
+    /**
+     * Reads a profile with the {@link ProfileParser}.
+     *
+     * @param fixture the name of the response
+     * @return the profile
+     * @throws IOException if the response could not be read
+     */
+    private static ProfileParser.Profile readProfile(String fixture) throws IOException {
+        try (Reader reader = open(fixture)) {
+            return ProfileParser.readProfile(new JsonReader(reader));
+        }
+    }
+
+    /**
+     * Reads the textures of a profile from a tree of json elements. A malformed profile throws a {@link RuntimeException}.
+     *
+     * @param fixture the name of the response
+     * @return the skin or {@code null} if the profile has no textures
+     * @throws IOException if the response could not be read
+     */
+    private static SkinData readTree(String fixture) throws IOException {
+        try (Reader reader = open(fixture)) {
+            return readTree(reader);
+        }
+    }
+
+    /**
+     * Reads the textures of a profile from a tree of json elements. A malformed profile throws a {@link RuntimeException}.
+     *
+     * @param reader the reader of the response
+     * @return the skin or {@code null} if the profile has no textures
+     */
+    private static SkinData readTree(Reader reader) {
+        JsonObject profile = new JsonParser().parse(reader).getAsJsonObject();
+        JsonArray properties = profile.getAsJsonArray("properties");
+        for (int i = 0; i < properties.size(); i++) {
+            JsonObject property = properties.get(i).getAsJsonObject();
+            if (!"textures".equals(property.get("name").getAsString())) continue;
+            return new SkinData(property.get("signature").getAsString(), property.get("value").getAsString());
+        }
+        return null;
+    }
+
+    /**
+     * Reads the unique ids of the bulk profiles endpoint from a tree of json elements.
+     *
+     * @param fixture the name of the response
+     * @return the unique ids mapped by the lower case names
+     * @throws IOException if the response could not be read
+     */
+    private static Map<String, UUID> readProfilesTree(String fixture) throws IOException {
+        try (Reader reader = open(fixture)) {
+            return readProfilesTree(reader);
+        }
+    }
+
+    /**
+     * Reads the unique ids of the bulk profiles endpoint from a tree of json elements.
+     *
+     * @param reader the reader of the response
+     * @return the unique ids mapped by the lower case names
+     */
+    private static Map<String, UUID> readProfilesTree(Reader reader) {
+        JsonArray profiles = new JsonParser().parse(reader).getAsJsonArray();
+        Map<String, UUID> uniqueIds = new HashMap<>();
+        for (JsonElement element : profiles) {
+            JsonObject profile = element.getAsJsonObject();
+            uniqueIds.put(profile.get("name").getAsString().toLowerCase(Locale.ROOT), SkinFetcher.toUniqueId(profile.get("id").getAsString()));
+        }
+        return uniqueIds;
+    }
+
+    /**
+     * Checks that the tree did not find a skin either. The tree failed on profiles without signed textures instead of skipping them.
+     *
+     * @param fixture the name of the response
+     * @throws IOException if the response could not be read
+     */
+    private static void assertNoTreeSkin(String fixture) throws IOException {
+        try {
+            assertNull(readTree(fixture));
+        } catch (RuntimeException expected) {
+            return;
+        }
+        fail("The tree found a skin in " + fixture);
+    }
+
+    /**
+     * Checks that the streamed skin matches the skin of the tree.
+     *
+     * @param expected the skin of the tree
+     * @param actual   the streamed skin
+     */
+    private static void assertSameSkin(SkinData expected, SkinData actual) {
+        assertNotNull(expected);
+        assertEquals(expected.getValue(), actual.getValue());
+        assertEquals(expected.getSignature(), actual.getSignature());
+    }
+
+    /**
+     * Gets the counter of the bytes allocated by a thread. The test is skipped if the virtual machine does not count them.
+     *
+     * @return the counter
+     */
+    private static com.sun.management.ThreadMXBean allocationCounter() {
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(threads instanceof com.sun.management.ThreadMXBean);
+
+        com.sun.management.ThreadMXBean counter = (com.sun.management.ThreadMXBean) threads;
+        Assume.assumeTrue(counter.isThreadAllocatedMemorySupported());
+        counter.setThreadAllocatedMemoryEnabled(true);
+        return counter;
+    }
+
+    /**
+     * Measures the bytes a lookup allocates on the current thread. The lookup is warmed up first, so the measurement shows the compiled code.
+     *
+     * @param threads the counter of the allocated bytes
+     * @param lookup  the lookup
+     * @return the allocated bytes per lookup
+     * @throws IOException if the response could not be read
+     */
+    private static long allocatedPerLookup(com.sun.management.ThreadMXBean threads, Lookup lookup) throws IOException {
+        for (int i = 0; i < WARM_UP_LOOKUPS; i++) lastResult = lookup.run();
+
+        long thread = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < MEASURED_LOOKUPS; i++) lastResult = lookup.run();
+        return (threads.getThreadAllocatedBytes(thread) - before) / MEASURED_LOOKUPS;
+    }
+
+    /**
+     * Checks that streaming a response allocates less than reading it into a tree and prints both amounts.
+     *
+     * @param fixture  the name of the response
+     * @param streamed the bytes allocated per streamed lookup
+     * @param tree     the bytes allocated per lookup with a tree
+     */
+    private static void assertAllocatesLess(String fixture, long streamed, long tree) {
+        String result = fixture + ": streamed " + streamed + " B/lookup, tree " + tree + " B/lookup";
+        System.out.println(result);
+        assertTrue(result, streamed < tree);
+    }
+
+    /**
+     * Reads a response into a string, so the measured lookups do not read the file.
+     *
+     * @param fixture the name of the response
+     * @return the response
+     * @throws IOException if the response could not be read
+     */
+    private static String read(String fixture) throws IOException {
+        StringBuilder response = new StringBuilder();
+        char[] buffer = new char[1024];
+        try (Reader reader = open(fixture)) {
+            for (int read; (read = reader.read(buffer)) != -1; ) response.append(buffer, 0, read);
+        }
+        return response.toString();
+    }
+
+    /**
+     * Opens a response.
+     *
+     * @param fixture the name of the response
+     * @return the reader of the response
+     */
+    private static Reader open(String fixture) {
+        InputStream input = ProfileParserTest.class.getResourceAsStream(fixture);
+        assertNotNull("The fixture " + fixture + " is missing", input);
+        return new InputStreamReader(input, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * A lookup whose allocations are measured.
+     */
+    @FunctionalInterface
+    private interface Lookup {
+
+        /**
+         * Parses one response.
+         *
+         * @return the result
+         * @throws IOException if the response could not be read
+         */
+        Object run() throws IOException;
+    }
+
+}
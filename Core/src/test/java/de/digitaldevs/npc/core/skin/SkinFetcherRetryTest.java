@@ -0,0 +1,182 @@
+package de.digitaldevs.npc.core.skin;
+
+import de.digitaldevs.npc.core.base.SkinData;
+import de.digitaldevs.npc.core.skin.SkinFetchException.Reason;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * This class tests how the {@link SkinFetcher} retries requests witch Mojang answered with HTTP 429 or 5xx.
+ *
+ * @author MerryChrismas
+ * @author <a href='https://digitaldevs.de'>DigitalDevs.de</a>
+ * @version 1.1
+ * @since 1.1
+ */
+public class SkinFetcherRetryTest {
+
+    /**
+     * The player whose lookup is throttled
+     */
+    private static final UUID THROTTLED = UUID.fromString("069a79f4-44e9-4726-a5be-fca90e38aaf5");
+
+    /**
+     * The player whose lookup is made by the other worker
+     */
+    private static final UUID OTHER = UUID.fromString("853c80ef-3c37-49fd-aa49-938b674adae6");
+
+    /**
+     * The player whose lookup always fails
+     */
+    private static final UUID FAILING = UUID.fromString("61699b2e-d327-4a01-9f1e-0ea8c3f06bc6");
+
+    /**
+     * The player witch does not exist
+     */
+    private static final UUID MISSING = UUID.fromString("00000000-0000-4000-8000-000000000000");
+
+    /**
+     * The value of the {@code Retry-After} header in seconds
+     */
+    private static final int RETRY_AFTER = 1;
+
+    /**
+     * The amount of requests for the throttled player so far
+     */
+    private final AtomicInteger throttledRequests = new AtomicInteger();
+
+    /**
+     * Counts down as soon as the throttled player was answered with HTTP 429
+     */
+    private final CountDownLatch throttled = new CountDownLatch(1);
+
+    /**
+     * The server witch stands in for Mojang
+     */
+    private StandInServer server;
+
+    /**
+     * The fetcher
+     */
+    private SkinFetcher fetcher;
+
+    @Before
+    public void start() throws Exception {
+        this.server = new StandInServer((request, exchange) -> {
+            String path = request.getPath();
+            if (path.equals(StandInServer.profilePath(THROTTLED))) {
+                int attempt = this.throttledRequests.getAndIncrement();
+                if (attempt == 0) {
+                    exchange.getResponseHeaders().set("Retry-After", String.valueOf(RETRY_AFTER));
+                    StandInServer.respond(exchange, 429, "{\"error\":\"TooManyRequestsException\"}");
+                    this.throttled.countDown();
+                } else if (attempt == 1) {
+                    StandInServer.respond(exchange, 503, "");
+                } else {
+                    StandInServer.respond(exchange, 200, StandInServer.profile(THROTTLED, "Notch"));
+                }
+            } else if (path.equals(StandInServer.profilePath(OTHER))) {
+                StandInServer.respond(exchange, 200, StandInServer.profile(OTHER, "jeb_"));
+            } else if (path.equals(StandInServer.profilePath(FAILING))) {
+                StandInServer.respond(exchange, 502, "");
+            } else {
+                StandInServer.respond(exchange, 204, "");
+            }
+        });
+        this.fetcher = new SkinFetcher(new SkinCache(), new HttpTransport());
+        this.fetcher.setSessionUrl(this.server.getUrl("/session/minecraft/profile/"));
+        this.fetcher.getRateLimiter().setRate(10, 100.0D);
+    }
+
+    @After
+    public void stop() {
+        this.fetcher.shutdown();
+        this.server.close();
+    }
+
+    @Test
+    public void retriesAfterRateLimitAndServerError() throws Exception {
+        SkinData skinData = this.fetcher.fetch(THROTTLED).get(10, TimeUnit.SECONDS);
+
+        assertEquals("value-Notch", skinData.getValue());
+        List<StandInServer.Request> requests = this.server.getRequests(StandInServer.profilePath(THROTTLED));
+        assertEquals(3, requests.size());
+        assertTrue("The Retry-After header was not respected", elapsed(requests.get(0), requests.get(1)) >= TimeUnit.SECONDS.toMillis(RETRY_AFTER));
+        assertTrue("The backoff was not doubled", elapsed(requests.get(1), requests.get(2)) >= 1000L);
+    }
+
+    @Test
+    public void rateLimitPausesTheOtherWorker() throws Exception {
+        CompletableFuture<SkinData> throttled = this.fetcher.fetch(THROTTLED);
+        assertTrue(this.throttled.await(10, TimeUnit.SECONDS));
+        TimeUnit.MILLISECONDS.sleep(100L);
+
+        CompletableFuture<SkinData> other = this.fetcher.fetch(OTHER);
+        assertEquals("value-jeb_", other.get(10, TimeUnit.SECONDS).getValue());
+        assertEquals("value-Notch", throttled.get(10, TimeUnit.SECONDS).getValue());
+
+        StandInServer.Request rateLimited = this.server.getRequests(StandInServer.profilePath(THROTTLED)).get(0);
+        StandInServer.Request paused = this.server.getRequests(StandInServer.profilePath(OTHER)).get(0);
+        assertTrue("The other worker did not wait for the Retry-After header", elapsed(rateLimited, paused) >= TimeUnit.SECONDS.toMillis(RETRY_AFTER));
+    }
+
+    @Test
+    public void givesUpAfterMaxRetries() throws Exception {
+        this.fetcher.setMaxRetries(2);
+
+        SkinFetchException exception = failure(this.fetcher.fetch(FAILING));
+        assertEquals(Reason.UNAVAILABLE, exception.getReason());
+        assertEquals(502, exception.getStatus());
+        assertEquals(3, this.server.getRequests(StandInServer.profilePath(FAILING)).size());
+    }
+
+    @Test
+    public void doesNotRetryMissingPlayer() throws Exception {
+        SkinFetchException exception = failure(this.fetcher.fetch(MISSING));
+        assertEquals(Reason.NOT_FOUND, exception.getReason());
+        assertEquals(1, this.server.getRequests().size());
+    }
+
+    /**
+     * Gets the time between two requests.
+     *
+     * @param first  the first request
+     * @param second the second request
+     * @return the time in milliseconds
+     */
+    private static long elapsed(StandInServer.Request first, StandInServer.Request second) {
+        return TimeUnit.NANOSECONDS.toMillis(second.getTime() - first.getTime());
+    }
+
+    /**
+     * Waits for a lookup witch has to fail.
+     *
+     * @param future the future of the lookup
+     * @return the failure
+     * @throws Exception if the lookup did not finish in time
+     */
+    private static SkinFetchException failure(CompletableFuture<SkinData> future) throws Exception {
+        try {
+            future.get(10, TimeUnit.SECONDS);
+        } catch (ExecutionException exception) {
+            assertTrue(String.valueOf(exception.getCause()), exception.getCause() instanceof SkinFetchException);
+            return (SkinFetchException) exception.getCause();
+        }
+        fail("The lookup did not fail");
+        return null;
+    }
+
+}
@@ -0,0 +1,149 @@
+package de.digitaldevs.npc.core.skin;
+
+import de.digitaldevs.npc.core.base.SkinData;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * This class tests that concurrent lookups of the {@link SkinFetcher} for the same skin share one request and that each lookup is counted
+ * once by the {@link SkinCache}.
+ *
+ * @author MerryChrismas
+ * @author <a href='https://digitaldevs.de'>DigitalDevs.de</a>
+ * @version 1.1
+ * @since 1.1
+ */
+public class SkinFetcherTest {
+
+    /**
+     * The amount of concurrent lookups
+     */
+    private static final int LOOKUPS = 32;
+
+    /**
+     * The player whose skin is looked up
+     */
+    private static final UUID UNIQUE_ID = UUID.fromString("069a79f4-44e9-4726-a5be-fca90e38aaf5");
+
+    /**
+     * The path where the stand-in server resolves names
+     */
+    private static final String PROFILES_PATH = "/profiles/minecraft";
+
+    /**
+     * Holds the response back until every lookup was made
+     */
+    private final CountDownLatch respond = new CountDownLatch(1);
+
+    /**
+     * The server witch stands in for Mojang
+     */
+    private StandInServer server;
+
+    /**
+     * The fetcher
+     */
+    private SkinFetcher fetcher;
+
+    @Before
+    public void start() throws Exception {
+        this.server = new StandInServer((request, exchange) -> {
+            if (request.getPath().equals(PROFILES_PATH)) {
+                StandInServer.respond(exchange, 200, "[{\"id\":\"" + StandInServer.undashed(UNIQUE_ID) + "\",\"name\":\"Notch\"}]");
+                return;
+            }
+            this.respond.await(10, TimeUnit.SECONDS);
+            StandInServer.respond(exchange, 200, StandInServer.profile(UNIQUE_ID, "Notch"));
+        });
+        this.fetcher = new SkinFetcher(new SkinCache(), new HttpTransport());
+        this.fetcher.setSessionUrl(this.server.getUrl("/session/minecraft/profile/"));
+        this.fetcher.getNameResolver().setProfilesUrl(this.server.getUrl(PROFILES_PATH));
+    }
+
+    @After
+    public void stop() {
+        this.fetcher.shutdown();
+        this.server.close();
+    }
+
+    @Test
+    public void concurrentLookupsShareOneRequest() throws Exception {
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<CompletableFuture<SkinData>>> lookups = new ArrayList<>();
+        try {
+            for (int i = 0; i < LOOKUPS; i++) {
+                lookups.add(callers.submit(() -> {
+                    start.await();
+                    return this.fetcher.fetch(UNIQUE_ID);
+                }));
+            }
+            start.countDown();
+
+            List<CompletableFuture<SkinData>> futures = new ArrayList<>();
+            for (Future<CompletableFuture<SkinData>> lookup : lookups) futures.add(lookup.get(10, TimeUnit.SECONDS));
+            this.respond.countDown();
+
+            SkinData first = futures.get(0).get(10, TimeUnit.SECONDS);
+            assertEquals("value-Notch", first.getValue());
+            assertEquals("signature-Notch", first.getSignature());
+            for (CompletableFuture<SkinData> future : futures) assertSame(first, future.get(10, TimeUnit.SECONDS));
+        } finally {
+            callers.shutdownNow();
+        }
+
+        assertEquals(1, this.server.getRequests(StandInServer.profilePath(UNIQUE_ID)).size());
+        assertEquals(1, this.server.getRequests().size());
+    }
+
+    @Test
+    public void cancellingOneLookupKeepsTheOthers() throws Exception {
+        CompletableFuture<SkinData> cancelled = this.fetcher.fetch(UNIQUE_ID);
+        CompletableFuture<SkinData> other = this.fetcher.fetch(UNIQUE_ID);
+        assertTrue(cancelled.cancel(true));
+        this.respond.countDown();
+
+        assertEquals("value-Notch", other.get(10, TimeUnit.SECONDS).getValue());
+        assertEquals(1, this.server.getRequests().size());
+    }
+
+    @Test
+    public void cachedSkinIsNotRequestedAgain() throws Exception {
+        this.respond.countDown();
+        SkinData fetched = this.fetcher.fetch(UNIQUE_ID).get(10, TimeUnit.SECONDS);
+
+        assertSame(fetched, this.fetcher.fetch(UNIQUE_ID).get(10, TimeUnit.SECONDS));
+        assertSame(fetched, this.fetcher.fetch("notch").get(10, TimeUnit.SECONDS));
+        assertEquals(1, this.server.getRequests().size());
+    }
+
+    @Test
+    public void coldLookupByNameCountsOneMiss() throws Exception {
+        this.respond.countDown();
+        SkinCache cache = this.fetcher.getCache();
+
+        SkinData fetched = this.fetcher.fetch("Notch").get(10, TimeUnit.SECONDS);
+        assertEquals(0, cache.getHits());
+        assertEquals(1, cache.getMisses());
+
+        assertSame(fetched, this.fetcher.fetch("notch").get(10, TimeUnit.SECONDS));
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+}
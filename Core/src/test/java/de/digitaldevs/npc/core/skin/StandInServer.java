@@ -0,0 +1,221 @@
+package de.digitaldevs.npc.core.skin;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+/**
+ * This class is a local server witch stands in for Mojang in the tests. <br>
+ * Every request is recorded with the time it arrived before it is answered by the handler of the test. The requests are handled by
+ * several threads, so a request witch should not have been sent is recorded even if another request is blocked.
+ *
+ * @author MerryChrismas
+ * @author <a href='https://digitaldevs.de'>DigitalDevs.de</a>
+ * @version 1.1
+ * @since 1.1
+ */
+final class StandInServer implements AutoCloseable {
+
+    /**
+     * The server
+     */
+    private final HttpServer server;
+
+    /**
+     * The threads witch handle the requests
+     */
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    /**
+     * The requests in the order they arrived
+     */
+    private final List<Request> requests = new CopyOnWriteArrayList<>();
+
+    /**
+     * Starts a new StandInServer on a free port.
+     *
+     * @param handler the handler witch answers the requests
+     * @throws IOException if the server could not be started
+     */
+    StandInServer(Handler handler) throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        this.server.setExecutor(this.executor);
+        this.server.createContext("/", exchange -> {
+            try {
+                Request request = new Request(exchange.getRequestMethod(), exchange.getRequestURI().getPath(), read(exchange.getRequestBody()), System.nanoTime());
+                this.requests.add(request);
+                handler.handle(request, exchange);
+            } catch (Exception exception) {
+                respond(exchange, 500, exception.toString());
+            } finally {
+                exchange.close();
+            }
+        });
+        this.server.start();
+    }
+
+    /**
+     * Gets the url of a path on this server.
+     *
+     * @param path the path starting with a slash
+     * @return the url
+     */
+    String getUrl(String path) {
+        return "http://127.0.0.1:" + this.server.getAddress().getPort() + path;
+    }
+
+    /**
+     * Gets the requests witch arrived so far.
+     *
+     * @return the requests in the order they arrived
+     */
+    List<Request> getRequests() {
+        return this.requests;
+    }
+
+    /**
+     * Gets the requests for one path witch arrived so far.
+     *
+     * @param path the path
+     * @return the requests in the order they arrived
+     */
+    List<Request> getRequests(String path) {
+        return this.requests.stream().filter(request -> request.getPath().equals(path)).collect(Collectors.toList());
+    }
+
+    /**
+     * Stops the server.
+     */
+    @Override
+    public void close() {
+        this.server.stop(0);
+        this.executor.shutdownNow();
+    }
+
+    /**
+     * Sends a response.
+     *
+     * @param exchange the exchange
+     * @param status   the status code
+     * @param body     the body or an empty string if the response has no body
+     * @throws IOException if the response could not be sent
+     */
+    static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+        if (bytes.length == 0) return;
+
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(bytes);
+        }
+    }
+
+    /**
+     * Creates a profile in the format of the session server.
+     *
+     * @param uniqueId the unique id of the player
+     * @param name     the name of the player
+     * @return the profile as json
+     */
+    static String profile(UUID uniqueId, String name) {
+        return "{\"id\":\"" + undashed(uniqueId) + "\",\"name\":\"" + name + "\",\"properties\":[{\"name\":\"textures\","
+                + "\"value\":\"value-" + name + "\",\"signature\":\"signature-" + name + "\"}]}";
+    }
+
+    /**
+     * Gets the path of the profile of a player on the session server.
+     *
+     * @param uniqueId the unique id of the player
+     * @return the path
+     */
+    static String profilePath(UUID uniqueId) {
+        return "/session/minecraft/profile/" + undashed(uniqueId);
+    }
+
+    /**
+     * Converts a unique id into the format of Mojang.
+     *
+     * @param uniqueId the unique id
+     * @return the unique id without dashes
+     */
+    static String undashed(UUID uniqueId) {
+        return uniqueId.toString().replace("-", "");
+    }
+
+    /**
+     * Reads the body of a request.
+     *
+     * @param input the body
+     * @return the body as a string
+     * @throws IOException if the body could not be read
+     */
+    private static String read(InputStream input) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        byte[] buffer = new byte[1024];
+        int read;
+        while ((read = input.read(buffer)) != -1) output.write(buffer, 0, read);
+        return new String(output.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * A request witch arrived at the server.
+     *
+     * @see AllArgsConstructor
+     */
+    @AllArgsConstructor
+    static final class Request {
+
+        /**
+         * The method of the request
+         */
+        @Getter private final String method;
+
+        /**
+         * The path of the request
+         */
+        @Getter private final String path;
+
+        /**
+         * The body of the request
+         */
+        @Getter private final String body;
+
+        /**
+         * The time the request arrived in nanoseconds
+         */
+        @Getter private final long time;
+    }
+
+    /**
+     * This interface represents the handler witch answers the requests of a test.
+     */
+    @FunctionalInterface
+    interface Handler {
+
+        /**
+         * Answers a request.
+         *
+         * @param request  the recorded request
+         * @param exchange the exchange
+         * @throws Exception if the request could not be answered
+         */
+        void handle(Request request, HttpExchange exchange) throws Exception;
+    }
+
+}
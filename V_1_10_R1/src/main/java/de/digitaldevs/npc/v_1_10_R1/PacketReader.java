@@ -11,13 +11,14 @@ import de.digitaldevs.npc.core.reflection.FieldAccessor;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.MessageToMessageDecoder;
-import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
 import net.minecraft.server.v1_10_R1.Packet;
+import net.minecraft.server.v1_10_R1.PacketPlayInUseEntity;
 import org.bukkit.Bukkit;
 import org.bukkit.craftbukkit.v1_10_R1.entity.CraftPlayer;
 import org.bukkit.entity.Player;
 
-import java.util.Iterator;
+import java.lang.reflect.Field;
 import java.util.List;
 
 /**
@@ -26,12 +27,15 @@ import java.util.List;
  * @author MerryChrismas
  * @author <a href='https://digitaldevs.de'>DigitalDevs.de</a>
  * @version 1.0
- * @see RequiredArgsConstructor
  * @since 1.0
  */
-@RequiredArgsConstructor
 public class PacketReader {
 
+    /**
+     * The field of the {@code PacketPlayInUseEntity} witch contains the id of the clicked entity
+     */
+    private static final Field USE_ENTITY_ID = FieldAccessor.getField(PacketPlayInUseEntity.class, "a");
+
     /**
      * The player from witch connection the packets should be read
      */
@@ -40,17 +44,28 @@ public class PacketReader {
     /**
      * The channel of the player's connection where all packets are sent through
      */
-    private static Channel channel;
+    private final Channel channel;
 
     /**
      * The time when the player interacted with an NPC for the last time
      */
-    private static Long lastInteract;
+    private Long lastInteract;
 
     /**
      * The time when the player attacked an NPC for the last time
      */
-    private static Long lastAttack;
+    private Long lastAttack;
+
+    /**
+     * Instantiates a new PacketReader for the connection of a player.
+     *
+     * @param player the player from witch connection the packets should be read
+     * @since 1.1
+     */
+    public PacketReader(Player player) {
+        this.player = player;
+        this.channel = ((CraftPlayer) player).getHandle().playerConnection.networkManager.channel;
+    }
 
     /**
      * Adds an intermediate step to reading the packets in the process.
@@ -58,9 +73,7 @@ public class PacketReader {
      * @since 1.0
      */
     public void inject() {
-        CraftPlayer craftPlayer = (CraftPlayer) player;
-        channel = craftPlayer.getHandle().playerConnection.networkManager.channel;
-        channel.pipeline().addAfter("decoder", "PacketInjector", new MessageToMessageDecoder<Packet<?>>() {
+        this.channel.pipeline().addAfter("decoder", "PacketInjector", new MessageToMessageDecoder<Packet<?>>() {
             @Override
             protected void decode(ChannelHandlerContext channelHandlerContext, Packet<?> packet, List<Object> list) {
                 readPacket(packet);
@@ -70,17 +83,18 @@ public class PacketReader {
     }
 
     /**
-     * Removes the intermediate step for reading the packets.
+     * Removes the intermediate step for reading the packets if it was added to the player's channel.
      *
      * @since 1.0
      */
     public void eject() {
-        if (channel.pipeline().get("decoder") != null)
-            channel.pipeline().remove("PacketInjector");
+        if (this.channel.pipeline().get("PacketInjector") != null)
+            this.channel.pipeline().remove("PacketInjector");
     }
 
     /**
      * Reads the incoming packet. Calls the {@link PlayerInteractWithNPCEvent} or the {@link PlayerAttackNPCEvent} if the packet is an instance of the {@code PacketPlayInUseEntity}. <br>
+     * The clicked NPC is looked up by its entity id on the netty thread, other packets are passed through without scheduling a task. <br>
      * The {@link PlayerInteractWithNPCEvent} can be called every 0.3 seconds. <br>
      * The {@link PlayerAttackNPCEvent} can be called every half (0.5) seconds.
      *
@@ -88,52 +102,61 @@ public class PacketReader {
      * @since 1.0
      */
     public void readPacket(Packet<?> packet) {
-        Bukkit.getScheduler().runTaskAsynchronously(Plugin.getInstance(), () -> {
+        if (!(packet instanceof PacketPlayInUseEntity)) return;
 
-            if (packet.getClass().getSimpleName().equals("PacketPlayInUseEntity")) {
-                Iterator<AbstractNPC> iterator = NpcAPI.getApi().getRegistry().getData().iterator();
+        AbstractNPC npc = NpcAPI.getApi().getNPC(this.getEntityID((PacketPlayInUseEntity) packet));
+        if (npc == null) return;
 
-                while (true) {
-                    if (!iterator.hasNext()) return;
-                    AbstractNPC npc = iterator.next();
+        Bukkit.getScheduler().runTaskAsynchronously(Plugin.getInstance(), () -> {
 
-                    if (FieldAccessor.get(packet, "action").toString().equalsIgnoreCase("ATTACK")) {
-                        boolean canCallEvent;
+            if (FieldAccessor.get(packet, "action").toString().equalsIgnoreCase("ATTACK")) {
+                boolean canCallEvent;
 
-                        if (lastAttack == null) {
-                            canCallEvent = true;
-                            lastAttack = System.currentTimeMillis();
+                if (lastAttack == null) {
+                    canCallEvent = true;
+                    lastAttack = System.currentTimeMillis();
 
-                        } else if (lastAttack + 500L <= System.currentTimeMillis()) {
-                            canCallEvent = true;
-                            lastAttack = System.currentTimeMillis();
+                } else if (lastAttack + 500L <= System.currentTimeMillis()) {
+                    canCallEvent = true;
+                    lastAttack = System.currentTimeMillis();
 
-                        } else canCallEvent = false;
+                } else canCallEvent = false;
 
-                        if (canCallEvent)
-                            new EventHandler<Player>(npc).invoke(player).callEvent(PlayerEventType.ATTACK);
+                if (canCallEvent)
+                    new EventHandler<Player>(npc).invoke(player).callEvent(PlayerEventType.ATTACK);
 
-                    }
-                    if (FieldAccessor.get(packet, "action").toString().equalsIgnoreCase("INTERACT_AT")) {
-                        boolean canCallEvent;
+            }
+            if (FieldAccessor.get(packet, "action").toString().equalsIgnoreCase("INTERACT_AT")) {
+                boolean canCallEvent;
 
-                        if (lastInteract == null) {
-                            canCallEvent = true;
-                            lastInteract = System.currentTimeMillis();
+                if (lastInteract == null) {
+                    canCallEvent = true;
+                    lastInteract = System.currentTimeMillis();
 
-                        } else if (lastInteract + 300L <= System.currentTimeMillis()) {
-                            lastInteract = System.currentTimeMillis();
-                            canCallEvent = true;
+                } else if (lastInteract + 300L <= System.currentTimeMillis()) {
+                    lastInteract = System.currentTimeMillis();
+                    canCallEvent = true;
 
-                        } else canCallEvent = false;
+                } else canCallEvent = false;
 
-                        if (canCallEvent)
-                            new EventHandler<Player>(npc).invoke(player).callEvent(PlayerEventType.INTERACT);
-                    }
-                }
+                if (canCallEvent)
+                    new EventHandler<Player>(npc).invoke(player).callEvent(PlayerEventType.INTERACT);
             }
 
         });
     }
 
+    /**
+     * Reads the id of the entity witch was clicked without boxing it.
+     *
+     * @param packet the incoming packet
+     * @return the entity id
+     * @see SneakyThrows
+     * @since 1.1
+     */
+    @SneakyThrows
+    private int getEntityID(PacketPlayInUseEntity packet) {
+        return USE_ENTITY_ID.getInt(packet);
+    }
+
 }
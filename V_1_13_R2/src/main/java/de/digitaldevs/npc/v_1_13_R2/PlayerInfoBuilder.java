@@ -0,0 +1,91 @@
+package de.digitaldevs.npc.v_1_13_R2;
+
+import de.digitaldevs.npc.core.reflection.FieldAccessor;
+import de.digitaldevs.npc.core.reflection.FieldWriter;
+import lombok.SneakyThrows;
+import net.minecraft.server.v1_13_R2.EnumGamemode;
+import net.minecraft.server.v1_13_R2.IChatBaseComponent;
+import net.minecraft.server.v1_13_R2.PacketPlayOutPlayerInfo;
+import net.minecraft.server.v1_13_R2.PacketPlayOutPlayerInfo.EnumPlayerInfoAction;
+import net.minecraft.server.v1_13_R2.PacketPlayOutPlayerInfo.PlayerInfoData;
+import org.bukkit.craftbukkit.v1_13_R2.util.CraftChatMessage;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.invoke.MethodHandle;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * This class is used for building the {@link PacketPlayOutPlayerInfo} witch adds NPCs to or removes them from the tablist in minecraft's version 1.13. <br>
+ * <b>Implementation Note: </b>The fields of the packet are resolved once when the class is loaded and each NPC keeps its parsed display name,
+ * so building a packet neither looks up any reflection nor parses a chat message.
+ *
+ * @author MerryChrismas
+ * @author <a href='https://digitaldevs.de'>DigitalDevs.de</a>
+ * @version 1.1
+ * @since 1.1
+ */
+public final class PlayerInfoBuilder {
+
+    /**
+     * The writer of the action of the {@link PacketPlayOutPlayerInfo}
+     */
+    private static final FieldWriter ACTION = FieldWriter.of(PacketPlayOutPlayerInfo.class, "a");
+
+    /**
+     * The getter of the entries of the {@link PacketPlayOutPlayerInfo}
+     */
+    private static final MethodHandle ENTRIES = FieldAccessor.getGetter(PacketPlayOutPlayerInfo.class, "b");
+
+    /**
+     * Instantiates a new PlayerInfoBuilder.
+     */
+    private PlayerInfoBuilder() {
+    }
+
+    /**
+     * Builds a packet witch modifies the tablist entry of one NPC.
+     *
+     * @param action the modification that should be performed. Cannot be null.
+     * @param npc    the NPC. Cannot be null.
+     * @return the packet
+     * @see NotNull
+     */
+    public static PacketPlayOutPlayerInfo build(@NotNull EnumPlayerInfoAction action, @NotNull NPC npc) {
+        return build(action, Collections.singleton(npc));
+    }
+
+    /**
+     * Builds one packet witch modifies the tablist entries of several NPCs.
+     *
+     * @param action the modification that should be performed. Cannot be null.
+     * @param npcs   the NPCs. Cannot be null.
+     * @return the packet
+     * @see NotNull
+     * @see SneakyThrows
+     */
+    @SneakyThrows
+    @SuppressWarnings("unchecked")
+    public static PacketPlayOutPlayerInfo build(@NotNull EnumPlayerInfoAction action, @NotNull Collection<NPC> npcs) {
+        PacketPlayOutPlayerInfo packet = new PacketPlayOutPlayerInfo();
+        ACTION.set(packet, action);
+
+        List<PlayerInfoData> entries = (List<PlayerInfoData>) (Object) ENTRIES.invokeExact((Object) packet);
+        for (NPC npc : npcs)
+            entries.add(packet.new PlayerInfoData(npc.getGameProfile(), 1, EnumGamemode.NOT_SET, npc.getDisplayName()));
+        return packet;
+    }
+
+    /**
+     * Parses a display name into a chat component. Each NPC parses its display name once and keeps it, so no name outlives its NPC.
+     *
+     * @param name the display name. Cannot be null.
+     * @return the chat component
+     * @see NotNull
+     */
+    public static IChatBaseComponent parseDisplayName(@NotNull String name) {
+        return CraftChatMessage.fromString(name)[0];
+    }
+
+}
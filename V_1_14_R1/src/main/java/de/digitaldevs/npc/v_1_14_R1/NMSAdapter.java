@@ -0,0 +1,146 @@
+package de.digitaldevs.npc.v_1_14_R1;
+
+import de.digitaldevs.npc.core.NpcAPI;
+import de.digitaldevs.npc.core.adapter.VersionAdapter;
+import de.digitaldevs.npc.core.base.AbstractNPC;
+import de.digitaldevs.npc.core.enums.TablistAction;
+import io.netty.channel.Channel;
+import lombok.SneakyThrows;
+import net.minecraft.server.v1_14_R1.PacketPlayOutEntityDestroy;
+import net.minecraft.server.v1_14_R1.PacketPlayOutPlayerInfo.EnumPlayerInfoAction;
+import org.bukkit.Location;
+import org.bukkit.craftbukkit.v1_14_R1.entity.CraftPlayer;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * This class is the {@link VersionAdapter} for minecraft's version 1.14
+ *
+ * @author MerryChrismas
+ * @author <a href='https://digitaldevs.de'>DigitalDevs.de</a>
+ * @version 1.1
+ * @see VersionAdapter
+ * @since 1.1
+ */
+public class NMSAdapter implements VersionAdapter {
+
+    /**
+     * The version of the server witch is supported by this module
+     */
+    public static final String VERSION = "v1_14_R1";
+
+    /**
+     * Gets the version of the server witch is supported by this module.
+     *
+     * @return the version
+     */
+    @Override
+    public String getVersion() {
+        return VERSION;
+    }
+
+    /**
+     * Initializes the {@link NPC}, the {@link PlayerInfoBuilder} and the {@link PacketReader}, so their packet fields, writers and codec are resolved now.
+     */
+    @Override
+    public void enable() {
+        this.initialize(NPC.class);
+        this.initialize(PlayerInfoBuilder.class);
+        this.initialize(PacketReader.class);
+    }
+
+    /**
+     * Creates a new {@link NPC}.
+     *
+     * @param displayName  the name that will be shown above the NPC's head. Cannot be null.
+     * @param location     the location where the npc will be located. Cannot be null.
+     * @param visibleOnTab defines weather the NPC will be shown on the tablist
+     * @param receiver     the player witch will see the NPC. Cannot be null.
+     * @return the NPC
+     * @see NotNull
+     */
+    @Override
+    public AbstractNPC createNPC(@NotNull String displayName, @NotNull Location location, boolean visibleOnTab, @NotNull Player receiver) {
+        return new NPC(displayName, location, visibleOnTab, receiver);
+    }
+
+    /**
+     * Starts reading the packets of a player with a {@link PacketReader}.
+     *
+     * @param player the player. Cannot be null.
+     * @see NotNull
+     */
+    @Override
+    public void inject(@NotNull Player player) {
+        new PacketReader(player).inject();
+    }
+
+    /**
+     * Stops reading the packets of a player.
+     *
+     * @param player the player. Cannot be null.
+     * @see NotNull
+     */
+    @Override
+    public void eject(@NotNull Player player) {
+        new PacketReader(player).eject();
+    }
+
+    /**
+     * Sends one {@link net.minecraft.server.v1_14_R1.PacketPlayOutPlayerInfo} to a player witch modifies the tablist entries of several NPCs.
+     *
+     * @param viewer the player witch should receive the modification. Cannot be null.
+     * @param action the modification that should be performed. Cannot be null.
+     * @param npcs   the NPCs. Cannot be null.
+     * @see PlayerInfoBuilder
+     * @see NotNull
+     */
+    @Override
+    public void sendTablist(@NotNull Player viewer, @NotNull TablistAction action, @NotNull Collection<AbstractNPC> npcs) {
+        List<NPC> entries = new ArrayList<>(npcs.size());
+        for (AbstractNPC npc : npcs)
+            entries.add((NPC) npc);
+
+        EnumPlayerInfoAction infoAction = action == TablistAction.ADD_PLAYER ? EnumPlayerInfoAction.ADD_PLAYER : EnumPlayerInfoAction.REMOVE_PLAYER;
+        NpcAPI.getApi().getPacketQueue().write(this.getChannel(viewer), PlayerInfoBuilder.build(infoAction, entries));
+    }
+
+    /**
+     * Sends one {@link PacketPlayOutEntityDestroy} to a player witch destroys several entities.
+     *
+     * @param viewer    the player witch should not see the entities anymore. Cannot be null.
+     * @param entityIDs the entity ids. Cannot be null.
+     * @see NotNull
+     */
+    @Override
+    public void sendDestroy(@NotNull Player viewer, @NotNull int... entityIDs) {
+        NpcAPI.getApi().getPacketQueue().write(this.getChannel(viewer), new PacketPlayOutEntityDestroy(entityIDs));
+    }
+
+    /**
+     * Gets the channel of a player.
+     *
+     * @param player the player. Cannot be null.
+     * @return the channel
+     * @see NotNull
+     */
+    private Channel getChannel(@NotNull Player player) {
+        return ((CraftPlayer) player).getHandle().playerConnection.networkManager.channel;
+    }
+
+    /**
+     * Runs the static initializer of a class.
+     *
+     * @param clazz the class
+     * @see SneakyThrows
+     */
+    @SneakyThrows
+    private void initialize(Class<?> clazz) {
+        Class.forName(clazz.getName(), true, clazz.getClassLoader());
+    }
+
+}
@@ -1,10 +1,8 @@
 package de.digitaldevs.npc.v_1_14_R1;
 
-import com.google.gson.Gson;
-import com.google.gson.JsonObject;
 import com.mojang.authlib.GameProfile;
 import com.mojang.authlib.properties.Property;
-import de.digitaldevs.npc.core.Plugin;
+import de.digitaldevs.npc.core.NpcAPI;
 import de.digitaldevs.npc.core.base.AbstractNPC;
 import de.digitaldevs.npc.core.base.SkinData;
 import de.digitaldevs.npc.core.enums.NPCAnimation;
@@ -13,25 +11,41 @@ import de.digitaldevs.npc.core.enums.NPCStatus;
 import de.digitaldevs.npc.core.events.EventHandler;
 import de.digitaldevs.npc.core.events.EventHandler.NPCEventType;
 import de.digitaldevs.npc.core.events.npc.*;
-import de.digitaldevs.npc.core.reflection.ClassAccessor;
+import de.digitaldevs.npc.core.network.MovementEncoder;
+import de.digitaldevs.npc.core.network.PacketBroadcaster;
+import de.digitaldevs.npc.core.network.PacketBroadcaster.PacketWriter;
+import de.digitaldevs.npc.core.network.PacketQueue;
+import de.digitaldevs.npc.core.network.ProtocolLayout;
+import de.digitaldevs.npc.core.network.RawPacketCodec;
+import de.digitaldevs.npc.core.network.RawPacketType;
+import de.digitaldevs.npc.core.network.TablistBatcher;
 import de.digitaldevs.npc.core.reflection.FieldAccessor;
+import de.digitaldevs.npc.core.reflection.FieldWriter;
+import de.digitaldevs.npc.core.registry.NPCRegistry;
+import io.netty.channel.Channel;
 import lombok.Getter;
 import lombok.Setter;
+import lombok.SneakyThrows;
 import net.minecraft.server.v1_14_R1.*;
 import net.minecraft.server.v1_14_R1.PacketPlayOutEntity.PacketPlayOutEntityLook;
+import net.minecraft.server.v1_14_R1.PacketPlayOutEntity.PacketPlayOutRelEntityMoveLook;
 import net.minecraft.server.v1_14_R1.PacketPlayOutPlayerInfo.EnumPlayerInfoAction;
-import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.craftbukkit.v1_14_R1.entity.CraftPlayer;
 import org.bukkit.craftbukkit.v1_14_R1.inventory.CraftItemStack;
-import org.bukkit.craftbukkit.v1_14_R1.util.CraftChatMessage;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 import org.jetbrains.annotations.NotNull;
 
-import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * This class represents an NPC in minecraft's version 1.14
@@ -44,9 +58,119 @@ import java.util.UUID;
 public class NPC implements AbstractNPC {
 
     /**
-     * The version of the running server
+     * The writer of the entity id of the {@link PacketPlayOutNamedEntitySpawn}
      */
-    private final String serverVersion = this.getVersionPacket();
+    private static final FieldWriter SPAWN_ENTITY_ID = FieldWriter.of(PacketPlayOutNamedEntitySpawn.class, "a");
+
+    /**
+     * The writer of the unique id of the {@link PacketPlayOutNamedEntitySpawn}
+     */
+    private static final FieldWriter SPAWN_UNIQUE_ID = FieldWriter.of(PacketPlayOutNamedEntitySpawn.class, "b");
+
+    /**
+     * The writer of the x coordinate of the {@link PacketPlayOutNamedEntitySpawn}
+     */
+    private static final FieldWriter SPAWN_X = FieldWriter.of(PacketPlayOutNamedEntitySpawn.class, "c");
+
+    /**
+     * The writer of the y coordinate of the {@link PacketPlayOutNamedEntitySpawn}
+     */
+    private static final FieldWriter SPAWN_Y = FieldWriter.of(PacketPlayOutNamedEntitySpawn.class, "d");
+
+    /**
+     * The writer of the z coordinate of the {@link PacketPlayOutNamedEntitySpawn}
+     */
+    private static final FieldWriter SPAWN_Z = FieldWriter.of(PacketPlayOutNamedEntitySpawn.class, "e");
+
+    /**
+     * The writer of the yaw of the {@link PacketPlayOutNamedEntitySpawn}
+     */
+    private static final FieldWriter SPAWN_YAW = FieldWriter.of(PacketPlayOutNamedEntitySpawn.class, "f");
+
+    /**
+     * The writer of the pitch of the {@link PacketPlayOutNamedEntitySpawn}
+     */
+    private static final FieldWriter SPAWN_PITCH = FieldWriter.of(PacketPlayOutNamedEntitySpawn.class, "g");
+
+    /**
+     * The writer of the DataWatcher of the {@link PacketPlayOutNamedEntitySpawn}
+     */
+    private static final FieldWriter SPAWN_DATA_WATCHER = FieldWriter.of(PacketPlayOutNamedEntitySpawn.class, "h");
+
+    /**
+     * The writer of the entity id of the {@link PacketPlayOutEntityTeleport}
+     */
+    private static final FieldWriter TELEPORT_ENTITY_ID = FieldWriter.of(PacketPlayOutEntityTeleport.class, "a");
+
+    /**
+     * The writer of the x coordinate of the {@link PacketPlayOutEntityTeleport}
+     */
+    private static final FieldWriter TELEPORT_X = FieldWriter.of(PacketPlayOutEntityTeleport.class, "b");
+
+    /**
+     * The writer of the y coordinate of the {@link PacketPlayOutEntityTeleport}
+     */
+    private static final FieldWriter TELEPORT_Y = FieldWriter.of(PacketPlayOutEntityTeleport.class, "c");
+
+    /**
+     * The writer of the z coordinate of the {@link PacketPlayOutEntityTeleport}
+     */
+    private static final FieldWriter TELEPORT_Z = FieldWriter.of(PacketPlayOutEntityTeleport.class, "d");
+
+    /**
+     * The writer of the yaw of the {@link PacketPlayOutEntityTeleport}
+     */
+    private static final FieldWriter TELEPORT_YAW = FieldWriter.of(PacketPlayOutEntityTeleport.class, "e");
+
+    /**
+     * The writer of the pitch of the {@link PacketPlayOutEntityTeleport}
+     */
+    private static final FieldWriter TELEPORT_PITCH = FieldWriter.of(PacketPlayOutEntityTeleport.class, "f");
+
+    /**
+     * The writer of the ground state of the {@link PacketPlayOutEntityTeleport}
+     */
+    private static final FieldWriter TELEPORT_ON_GROUND = FieldWriter.of(PacketPlayOutEntityTeleport.class, "g");
+
+    /**
+     * The writer of the entity id of the {@link PacketPlayOutEntityHeadRotation}
+     */
+    private static final FieldWriter HEAD_ROTATION_ENTITY_ID = FieldWriter.of(PacketPlayOutEntityHeadRotation.class, "a");
+
+    /**
+     * The writer of the yaw of the {@link PacketPlayOutEntityHeadRotation}
+     */
+    private static final FieldWriter HEAD_ROTATION_YAW = FieldWriter.of(PacketPlayOutEntityHeadRotation.class, "b");
+
+    /**
+     * The writer of the entity id of the {@link PacketPlayOutEntityEquipment}
+     */
+    private static final FieldWriter EQUIPMENT_ENTITY_ID = FieldWriter.of(PacketPlayOutEntityEquipment.class, "a");
+
+    /**
+     * The writer of the slot of the {@link PacketPlayOutEntityEquipment}
+     */
+    private static final FieldWriter EQUIPMENT_SLOT = FieldWriter.of(PacketPlayOutEntityEquipment.class, "b");
+
+    /**
+     * The writer of the item of the {@link PacketPlayOutEntityEquipment}
+     */
+    private static final FieldWriter EQUIPMENT_ITEM = FieldWriter.of(PacketPlayOutEntityEquipment.class, "c");
+
+    /**
+     * The slots of the server mapped by the slots of this api
+     */
+    private static final Map<NPCEquipmentSlot, EnumItemSlot> ITEM_SLOTS = createItemSlots();
+
+    /**
+     * The codec witch writes the NPC packets of this version directly as bytes
+     */
+    private static final RawPacketCodec CODEC = new RawPacketCodec(ProtocolLayout.V1_9, NPC::getPacketID);
+
+    /**
+     * The class of the server's packet encoder. Encoded packets are only written to channels witch use it.
+     */
+    private static final Class<?> ENCODER_TYPE = PacketEncoder.class;
 
     /**
      * The unique id of the NPC
@@ -62,6 +186,14 @@ public class NPC implements AbstractNPC {
      */
     @Getter private final GameProfile gameProfile;
 
+    /**
+     * The NPC's name in the tablist. It is parsed once and dropped together with the NPC.
+     *
+     * @see Getter
+     * @since 1.1
+     */
+    @Getter private final IChatBaseComponent displayName;
+
     /**
      * The data of the NPC's skin
      *
@@ -78,19 +210,28 @@ public class NPC implements AbstractNPC {
     @Getter private final DataWatcher dataWatcher;
 
     /**
-     * The player witch will see the NPC
+     * The player witch will see the NPC. It is the first viewer of the NPC.
      *
      * @see Getter
      */
     @Getter private final Player receiver;
 
     /**
-     * The location where the NPC is located
+     * The players witch see the NPC. The state of the NPC is shared by all of them.
+     */
+    private final Set<Player> viewers = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Defines weather the NPC is spawned
      *
      * @see Getter
-     * @see Setter
      */
-    @Getter @Setter private Location location;
+    @Getter private boolean spawned;
+
+    /**
+     * The location where the NPC is located
+     */
+    private Location location;
 
     /**
      * Defines weather the NPC will be visible on the player list
@@ -100,6 +241,51 @@ public class NPC implements AbstractNPC {
      */
     @Getter @Setter private boolean visibleOnTab;
 
+    /**
+     * The location witch will be sent with the next flush of the {@link de.digitaldevs.npc.core.network.UpdateCoalescer} or {@code null} if the NPC was not teleported
+     */
+    private Location pendingTeleport;
+
+    /**
+     * Defines weather the NPC will be standing on a solid ground after the pending teleport
+     */
+    private boolean pendingOnGround;
+
+    /**
+     * Defines weather the head of the NPC was rotated since the last flush
+     */
+    private boolean pendingRotation;
+
+    /**
+     * The pending rotation on the x-axis
+     */
+    private float pendingYaw;
+
+    /**
+     * The pending rotation on the y-axis
+     */
+    private float pendingPitch;
+
+    /**
+     * Defines weather the NPC focused the {@code receiver} since the last flush
+     */
+    private boolean pendingFocus;
+
+    /**
+     * The encoder witch sends the movement of the NPC as relative moves
+     */
+    private final MovementEncoder movementEncoder = MovementEncoder.modern();
+
+    /**
+     * The items witch were sent to the viewers mapped by their slot
+     */
+    private final Map<NPCEquipmentSlot, ItemStack> equipment = new EnumMap<>(NPCEquipmentSlot.class);
+
+    /**
+     * The server's copies of the equipped items mapped by their slot. They are reused whenever the equipment is sent again.
+     */
+    private final Map<NPCEquipmentSlot, net.minecraft.server.v1_14_R1.ItemStack> equipmentCopies = new EnumMap<>(NPCEquipmentSlot.class);
+
     /**
      * Instantiates a new NPC.
      *
@@ -112,13 +298,51 @@ public class NPC implements AbstractNPC {
      */
     public NPC(@NotNull String displayName, @NotNull Location location, boolean visibleOnTab, @NotNull Player receiver) {
         this.receiver = receiver;
-        this.entityID = (int) (Math.random() * 1000) + 2000;
+        this.viewers.add(receiver);
+        this.entityID = NPCRegistry.nextEntityID();
         this.gameProfile = new GameProfile(UUID.randomUUID(), displayName);
+        this.displayName = PlayerInfoBuilder.parseDisplayName(displayName);
         this.dataWatcher = new DataWatcher(null);
         this.setLocation(location);
         this.setVisibleOnTab(visibleOnTab);
     }
 
+    /**
+     * Returns the unique id of the NPC's GameProfile.
+     *
+     * @return the unique id
+     * @since 1.1
+     */
+    @Override
+    public UUID getUniqueId() {
+        return this.gameProfile.getId();
+    }
+
+    /**
+     * Returns a copy of the location where the NPC is located. Changing it does not move the NPC.
+     *
+     * @return the location
+     * @since 1.1
+     */
+    @Override
+    public Location getLocation() {
+        return this.location.clone();
+    }
+
+    /**
+     * Sets the location where the NPC is located without sending it to the viewers. A copy of the location is stored, so the NPC is not
+     * moved by changing the given location afterwards. <br>
+     * If the NPC is spawned, it is moved in the {@link de.digitaldevs.npc.core.registry.NPCSpatialIndex} right away.
+     *
+     * @param location the location. Cannot be null.
+     * @see NotNull
+     * @since 1.0
+     */
+    public void setLocation(@NotNull Location location) {
+        this.location = location.clone();
+        if (this.spawned) NpcAPI.getApi().getSpatialIndex().update(this);
+    }
+
     /**
      * Spawns the NPC and calls the {@link NPCSpawnEvent}. <br>
      * If {@code visibleOnTab} is equal to {@code true} the NPC will be added to the tablist. <br>
@@ -128,25 +352,39 @@ public class NPC implements AbstractNPC {
      */
     @Override
     public void spawn() {
-        PacketPlayOutNamedEntitySpawn packet = new PacketPlayOutNamedEntitySpawn();
-        FieldAccessor.set(packet, "a", this.entityID);
-        FieldAccessor.set(packet, "b", this.gameProfile.getId());
-        FieldAccessor.set(packet, "c", this.location.getX());
-        FieldAccessor.set(packet, "d", this.location.getY());
-        FieldAccessor.set(packet, "e", this.location.getZ());
-        FieldAccessor.set(packet, "f", this.toByte(this.location.getYaw()));
-        FieldAccessor.set(packet, "g", this.toByte(this.location.getPitch()));
-        FieldAccessor.set(packet, "h", this.dataWatcher);
-        FieldAccessor.set(packet, "i", null);
-
-        this.modifyPlayerList(EnumPlayerInfoAction.ADD_PLAYER);
-        if(!this.visibleOnTab)
-            Bukkit.getScheduler().runTaskLaterAsynchronously(Plugin.getInstance(), () -> this.modifyPlayerList(EnumPlayerInfoAction.REMOVE_PLAYER), 2L);
-
-        this.sendPacket(packet);
+        this.spawned = true;
+        NpcAPI.getApi().getSpatialIndex().add(this);
+        this.movementEncoder.reset(this.location);
+        this.spawnFor(this.viewers);
         new EventHandler<>(this).callEvent(NPCEventType.SPAWN);
     }
 
+    /**
+     * Sends the packets witch spawn the NPC to certain players.
+     *
+     * @param targets the players witch should see the NPC spawning. Cannot be null.
+     * @see NotNull
+     * @since 1.1
+     */
+    private void spawnFor(@NotNull Collection<Player> targets) {
+        PacketPlayOutNamedEntitySpawn packet = new PacketPlayOutNamedEntitySpawn();
+        SPAWN_ENTITY_ID.setInt(packet, this.entityID);
+        SPAWN_UNIQUE_ID.set(packet, this.gameProfile.getId());
+        SPAWN_X.setDouble(packet, this.location.getX());
+        SPAWN_Y.setDouble(packet, this.location.getY());
+        SPAWN_Z.setDouble(packet, this.location.getZ());
+        SPAWN_YAW.setByte(packet, this.toByte(this.location.getYaw()));
+        SPAWN_PITCH.setByte(packet, this.toByte(this.location.getPitch()));
+        SPAWN_DATA_WATCHER.set(packet, this.dataWatcher);
+
+        TablistBatcher tablist = NpcAPI.getApi().getTablistBatcher();
+        if (!tablist.isAnnounced(this)) this.modifyPlayerList(EnumPlayerInfoAction.ADD_PLAYER, targets);
+        if (!this.visibleOnTab) tablist.scheduleRemoval(this, targets);
+
+        this.sendPacket(packet, targets);
+        if (!this.equipmentCopies.isEmpty()) this.sendEquipment(this.equipmentCopies.keySet(), targets);
+    }
+
     /**
      * Destroys the NPC and calls the {@link NPCDestroyEvent}.
      *
@@ -154,36 +392,90 @@ public class NPC implements AbstractNPC {
      */
     @Override
     public void destroy() {
-        PacketPlayOutEntityDestroy packet = new PacketPlayOutEntityDestroy(this.entityID);
-        this.modifyPlayerList(EnumPlayerInfoAction.REMOVE_PLAYER);
-
-        this.sendPacket(packet);
+        this.spawned = false;
+        NpcAPI.getApi().getSpatialIndex().remove(this);
+        this.destroyFor(this.viewers);
         new EventHandler<>(this).callEvent(NPCEventType.DESTROY);
     }
 
+    /**
+     * Marks the NPC as destroyed without sending any packet or calling any event.
+     *
+     * @since 1.1
+     */
+    @Override
+    public void markDestroyed() {
+        this.spawned = false;
+    }
+
+    /**
+     * Sends the packets witch destroy the NPC to certain players.
+     *
+     * @param targets the players witch should not see the NPC anymore. Cannot be null.
+     * @see NotNull
+     * @since 1.1
+     */
+    private void destroyFor(@NotNull Collection<Player> targets) {
+        this.modifyPlayerList(EnumPlayerInfoAction.REMOVE_PLAYER, targets);
+
+        if (this.isRawPackets(targets))
+            this.sendRaw(RawPacketType.ENTITY_DESTROY, buffer -> CODEC.writeDestroy(buffer, this.entityID), targets);
+        else this.sendPacket(new PacketPlayOutEntityDestroy(this.entityID), targets);
+    }
+
+    /**
+     * Returns the players witch see the NPC.
+     *
+     * @return the viewers of the NPC
+     * @since 1.1
+     */
+    @Override
+    public Collection<Player> getViewers() {
+        return Collections.unmodifiableSet(this.viewers);
+    }
+
+    /**
+     * Adds a player to the viewers of the NPC. If the NPC is spawned, only the new viewer receives the spawn packets.
+     *
+     * @param viewer the player witch should see the NPC. Cannot be null.
+     * @see NotNull
+     * @since 1.1
+     */
+    @Override
+    public void addViewer(@NotNull Player viewer) {
+        if (this.viewers.add(viewer) && this.spawned) {
+            this.movementEncoder.invalidate();
+            this.spawnFor(Collections.singleton(viewer));
+        }
+    }
+
+    /**
+     * Removes a player from the viewers of the NPC. If the NPC is spawned, only the removed viewer receives the destroy packets.
+     *
+     * @param viewer the player witch should not see the NPC anymore. Cannot be null.
+     * @see NotNull
+     * @since 1.1
+     */
+    @Override
+    public void removeViewer(@NotNull Player viewer) {
+        if (this.viewers.remove(viewer) && this.spawned)
+            this.destroyFor(Collections.singleton(viewer));
+    }
+
     /**
      * Changes the skin of the NPC and calls the {@link NPCUpdateSkinEvent}.
      *
-     * @param skinOwner the name of an existing player having the skin at this moment. Cannot be null.
+     * @param skinData the skin. Cannot be null.
      * @see NotNull
-     * @since 1.0
+     * @since 1.1
      */
     @Override
-    public void setSkin(@NotNull String skinOwner) {
-        Gson gson = new Gson();
-        String url = "https://api.mojang.com/users/profiles/minecraft/" + skinOwner;
-        String json = this.getResponseFromURL(url);
-        String uuid = (gson.fromJson(json, JsonObject.class)).get("id").getAsString();
-        url = "https://sessionserver.mojang.com/session/minecraft/profile/" + uuid + "?unsigned=false";
-        json = this.getResponseFromURL(url);
-        JsonObject mainObject = gson.fromJson(json, JsonObject.class);
-        JsonObject jObject = mainObject.get("properties").getAsJsonArray().get(0).getAsJsonObject();
-        String value = jObject.get("value").getAsString();
-        String signature = jObject.get("signature").getAsString();
-        this.skinData = new SkinData(signature, value);
-        this.gameProfile.getProperties().put("textures", new Property("textures", value, signature));
+    public void setSkin(@NotNull SkinData skinData) {
+        this.skinData = skinData;
+        this.gameProfile.getProperties().removeAll("textures");
+        this.gameProfile.getProperties().put("textures", new Property("textures", skinData.getValue(), skinData.getSignature()));
 
-        new EventHandler<SkinData>(this).invoke(this.skinData).callEvent(NPCEventType.UPDATE_SKIN);
+        new EventHandler<>(this).invoke(this.skinData).callEvent(NPCEventType.UPDATE_SKIN);
     }
 
     /**
@@ -196,11 +488,15 @@ public class NPC implements AbstractNPC {
      */
     @Override
     public void playStatus(@NotNull NPCStatus status) {
-        PacketPlayOutEntityStatus packet = new PacketPlayOutEntityStatus();
-        FieldAccessor.set(packet, "a", this.entityID);
-        FieldAccessor.set(packet, "b", (byte) status.getNmsIndex());
+        if (this.isRawPackets())
+            this.sendRaw(RawPacketType.ENTITY_STATUS, buffer -> CODEC.writeStatus(buffer, this.entityID, (byte) status.getNmsIndex()));
+        else {
+            PacketPlayOutEntityStatus packet = new PacketPlayOutEntityStatus();
+            FieldAccessor.set(packet, "a", this.entityID);
+            FieldAccessor.set(packet, "b", (byte) status.getNmsIndex());
 
-        this.sendPacket(packet);
+            this.sendPacket(packet);
+        }
         new EventHandler<NPCStatus>(this).invoke(status).callEvent(NPCEventType.PLAY_STATUS);
     }
 
@@ -216,6 +512,12 @@ public class NPC implements AbstractNPC {
         float yaw = this.location.getYaw();
         float pitch = this.location.getPitch();
 
+        if (this.isCoalescing()) {
+            this.pendingFocus = true;
+            this.rotateHead(yaw, pitch);
+            return;
+        }
+
         PacketPlayOutEntityLook packet = new PacketPlayOutEntityLook(this.entityID, this.normalizeView(yaw), this.normalizeView(pitch), false);
 
         this.sendPacket(packet);
@@ -223,6 +525,33 @@ public class NPC implements AbstractNPC {
         new EventHandler<Player>(this).invoke(this.receiver).callEvent(NPCEventType.FOCUS_PLAYER);
     }
 
+    /**
+     * Sends the movement updates witch were stored while the {@link de.digitaldevs.npc.core.network.UpdateCoalescer} is enabled. <br>
+     * Only the last rotation and the last location are sent. The events are called once for the final state.
+     *
+     * @since 1.1
+     */
+    @Override
+    public void flushPendingUpdates() {
+        boolean rotation = this.pendingRotation;
+        boolean focus = this.pendingFocus;
+        Location teleport = this.pendingTeleport;
+
+        this.pendingRotation = false;
+        this.pendingFocus = false;
+        this.pendingTeleport = null;
+        if (!this.spawned) return;
+
+        if (teleport != null) {
+            teleport.setYaw(this.pendingYaw);
+            teleport.setPitch(this.pendingPitch);
+            this.sendTeleport(teleport, this.pendingOnGround);
+        } else if (rotation) this.sendRotation(this.pendingYaw, this.pendingPitch);
+
+        if (teleport != null) new EventHandler<Location>(this).invoke(teleport).callEvent(NPCEventType.TELEPORT);
+        if (focus) new EventHandler<Player>(this).invoke(this.receiver).callEvent(NPCEventType.FOCUS_PLAYER);
+    }
+
     /**
      * Plays an animation by the NPC and calls the {@link NPCPlayAnimationEvent}.
      *
@@ -233,16 +562,21 @@ public class NPC implements AbstractNPC {
      */
     @Override
     public void playAnimation(@NotNull NPCAnimation animation) {
-        PacketPlayOutAnimation packet = new PacketPlayOutAnimation();
-        FieldAccessor.set(packet, "a", this.entityID);
-        FieldAccessor.set(packet, "bb", animation.getNmsIndex());
+        if (this.isRawPackets())
+            this.sendRaw(RawPacketType.ANIMATION, buffer -> CODEC.writeAnimation(buffer, this.entityID, animation.getNmsIndex()));
+        else {
+            PacketPlayOutAnimation packet = new PacketPlayOutAnimation();
+            FieldAccessor.set(packet, "a", this.entityID);
+            FieldAccessor.set(packet, "bb", animation.getNmsIndex());
 
-        this.sendPacket(packet);
+            this.sendPacket(packet);
+        }
         new EventHandler<NPCAnimation>(this).invoke(animation).callEvent(NPCEventType.PLAY_ANIMATION);
     }
 
     /**
-     * Equips the NPC with an item and calls the {@link NPCEquipEvent}.
+     * Equips the NPC with an item and calls the {@link NPCEquipEvent}. <br>
+     * Nothing is sent if the slot already holds an equal item.
      *
      * @param slot the slot where the item should be placed into. Cannot be null.
      * @param item the item wich should be placed into the inventory. Cannot be null.
@@ -252,13 +586,48 @@ public class NPC implements AbstractNPC {
      */
     @Override
     public void equip(@NotNull NPCEquipmentSlot slot, @NotNull ItemStack item) {
-        PacketPlayOutEntityEquipment packet = new PacketPlayOutEntityEquipment();
-        FieldAccessor.set(packet, "a", this.entityID);
-        FieldAccessor.set(packet, "b", EnumItemSlot.fromName(slot.getName()));
-        FieldAccessor.set(packet, "b", CraftItemStack.asCraftCopy(item));
+        this.equipAll(Collections.singletonMap(slot, item));
+    }
 
-        this.sendPacket(packet);
-        new EventHandler<>(this).invoke(slot).invoke(item).callEvent(NPCEventType.EQUIP);
+    /**
+     * Equips the NPC with several items at once and calls the {@link NPCEquipEvent} for each changed slot. <br>
+     * Slots witch already hold an equal item are skipped, so only the changed slots are sent to the viewers.
+     *
+     * @param items the items mapped by the slot where they should be placed into. Cannot be null.
+     * @see NPCEquipmentSlot
+     * @see NotNull
+     * @since 1.1
+     */
+    @Override
+    public void equipAll(@NotNull Map<NPCEquipmentSlot, ItemStack> items) {
+        Map<NPCEquipmentSlot, ItemStack> changed = new EnumMap<>(NPCEquipmentSlot.class);
+        items.forEach((slot, item) -> {
+            if (item.equals(this.equipment.get(slot))) return;
+            this.equipment.put(slot, item.clone());
+            this.equipmentCopies.put(slot, CraftItemStack.asNMSCopy(item));
+            changed.put(slot, item);
+        });
+        if (changed.isEmpty()) return;
+
+        this.sendEquipment(changed.keySet(), this.viewers);
+        changed.forEach((slot, item) -> new EventHandler<>(this).invoke(slot).invoke(item).callEvent(NPCEventType.EQUIP));
+    }
+
+    /**
+     * Sends the equipped items of certain slots to certain players. Each slot needs its own packet in this version.
+     *
+     * @param slots   the slots. Cannot be null.
+     * @param targets the players witch should receive the equipment. Cannot be null.
+     * @see NotNull
+     */
+    private void sendEquipment(@NotNull Collection<NPCEquipmentSlot> slots, @NotNull Collection<Player> targets) {
+        for (NPCEquipmentSlot slot : slots) {
+            PacketPlayOutEntityEquipment packet = new PacketPlayOutEntityEquipment();
+            EQUIPMENT_ENTITY_ID.setInt(packet, this.entityID);
+            EQUIPMENT_SLOT.set(packet, ITEM_SLOTS.get(slot));
+            EQUIPMENT_ITEM.set(packet, this.equipmentCopies.get(slot));
+            this.sendPacket(packet, targets);
+        }
     }
 
     /**
@@ -309,14 +678,15 @@ public class NPC implements AbstractNPC {
      */
     @Override
     public void rotateHead(float yaw, float pitch) {
-        PacketPlayOutEntityLook packetLook = new PacketPlayOutEntityLook(this.entityID, this.toByte(yaw), this.toByte(pitch), true);
-        PacketPlayOutEntityHeadRotation packetRotation = new PacketPlayOutEntityHeadRotation();
-
-        FieldAccessor.set(packetRotation, "a", this.entityID);
-        FieldAccessor.set(packetRotation, "b", this.toByte(yaw));
+        if (this.isCoalescing()) {
+            this.pendingYaw = yaw;
+            this.pendingPitch = pitch;
+            this.pendingRotation = true;
+            NpcAPI.getApi().getUpdateCoalescer().markDirty(this);
+            return;
+        }
 
-        this.sendPacket(packetLook);
-        this.sendPacket(packetRotation);
+        this.sendRotation(yaw, pitch);
     }
 
     /**
@@ -329,71 +699,300 @@ public class NPC implements AbstractNPC {
      */
     @Override
     public void teleport(@NotNull Location location, boolean onGround) {
-        PacketPlayOutEntityTeleport packet = new PacketPlayOutEntityTeleport();
-        FieldAccessor.set(packet, "a", this.entityID);
-        FieldAccessor.set(packet, "b", location.getZ());
-        FieldAccessor.set(packet, "c", location.getY());
-        FieldAccessor.set(packet, "d", location.getX());
-        FieldAccessor.set(packet, "e", this.toByte(location.getYaw()));
-        FieldAccessor.set(packet, "f", this.toByte(location.getPitch()));
-        FieldAccessor.set(packet, "g", onGround);
-
         this.setLocation(location);
-        this.rotateHead(location.getYaw(), location.getPitch());
+
+        if (this.isCoalescing()) {
+            this.pendingTeleport = location.clone();
+            this.pendingOnGround = onGround;
+            this.rotateHead(location.getYaw(), location.getPitch());
+            return;
+        }
+
+        this.sendTeleport(location, onGround);
+        new EventHandler<Location>(this).invoke(location).callEvent(NPCEventType.TELEPORT);
+    }
+
+    /**
+     * Checks weather the movement updates of the NPC are coalesced until the end of the tick.
+     *
+     * @return {@code true} if the {@link de.digitaldevs.npc.core.network.UpdateCoalescer} is enabled; {@code false} otherwise
+     */
+    private boolean isCoalescing() {
+        return NpcAPI.getApi().getUpdateCoalescer().isEnabled();
+    }
+
+    /**
+     * Sends the look and the head rotation packet of the NPC to all viewers.
+     *
+     * @param yaw   the rotation on the x-axis
+     * @param pitch the rotation on the y-axis
+     */
+    private void sendRotation(float yaw, float pitch) {
+        if (this.isRawPackets())
+            this.sendRaw(RawPacketType.ENTITY_LOOK, buffer -> CODEC.writeLook(buffer, this.entityID, this.toByte(yaw), this.toByte(pitch), true));
+        else this.sendPacket(new PacketPlayOutEntityLook(this.entityID, this.toByte(yaw), this.toByte(pitch), true));
+        this.sendHeadRotation(yaw);
+    }
+
+    /**
+     * Sends the head rotation packet of the NPC to all viewers.
+     *
+     * @param yaw the rotation on the x-axis
+     */
+    private void sendHeadRotation(float yaw) {
+        if (this.isRawPackets()) {
+            this.sendRaw(RawPacketType.ENTITY_HEAD_ROTATION, buffer -> CODEC.writeHeadRotation(buffer, this.entityID, this.toByte(yaw)));
+            return;
+        }
+
+        PacketPlayOutEntityHeadRotation packet = new PacketPlayOutEntityHeadRotation();
+        HEAD_ROTATION_ENTITY_ID.setInt(packet, this.entityID);
+        HEAD_ROTATION_YAW.setByte(packet, this.toByte(yaw));
+
         this.sendPacket(packet);
     }
 
+    /**
+     * Sends the movement of the NPC to all viewers. <br>
+     * The movement is sent as a relative move if the {@link MovementEncoder} can encode it; otherwise a full teleport is sent.
+     * The head rotation is sent afterwards in both cases.
+     *
+     * @param location the location to witch the NPC is moved. Cannot be null.
+     * @param onGround {@code true} if the NPC will be standing on a solid ground; {@code false} otherwise
+     * @see NotNull
+     */
+    private void sendTeleport(@NotNull Location location, boolean onGround) {
+        byte yaw = this.toByte(location.getYaw());
+        byte pitch = this.toByte(location.getPitch());
+
+        boolean relative = this.movementEncoder.encode(location);
+
+        if (this.isRawPackets()) this.sendRawMovement(location, yaw, pitch, onGround, relative);
+        else if (!relative) {
+            PacketPlayOutEntityTeleport packet = new PacketPlayOutEntityTeleport();
+            TELEPORT_ENTITY_ID.setInt(packet, this.entityID);
+            TELEPORT_X.setDouble(packet, location.getX());
+            TELEPORT_Y.setDouble(packet, location.getY());
+            TELEPORT_Z.setDouble(packet, location.getZ());
+            TELEPORT_YAW.setByte(packet, yaw);
+            TELEPORT_PITCH.setByte(packet, pitch);
+            TELEPORT_ON_GROUND.setBoolean(packet, onGround);
+            this.sendPacket(packet);
+        } else if (this.movementEncoder.isStationary()) {
+            this.sendPacket(new PacketPlayOutEntityLook(this.entityID, yaw, pitch, onGround));
+        } else {
+            this.sendPacket(new PacketPlayOutRelEntityMoveLook(this.entityID, (short) this.movementEncoder.getDeltaX(),
+                    (short) this.movementEncoder.getDeltaY(), (short) this.movementEncoder.getDeltaZ(), yaw, pitch, onGround));
+        }
+
+        this.sendHeadRotation(location.getYaw());
+    }
+
+    /**
+     * Sends the movement of the NPC to all viewers with the {@link RawPacketCodec}.
+     *
+     * @param location the location to witch the NPC is moved. Cannot be null.
+     * @param yaw      the encoded rotation on the x-axis
+     * @param pitch    the encoded rotation on the y-axis
+     * @param onGround {@code true} if the NPC will be standing on a solid ground; {@code false} otherwise
+     * @param relative {@code true} if the {@link MovementEncoder} encoded the movement as a relative move; {@code false} otherwise
+     * @see NotNull
+     */
+    private void sendRawMovement(@NotNull Location location, byte yaw, byte pitch, boolean onGround, boolean relative) {
+        if (!relative)
+            this.sendRaw(RawPacketType.ENTITY_TELEPORT, buffer -> CODEC.writeTeleport(buffer, this.entityID, location.getX(), location.getY(), location.getZ(), yaw, pitch, onGround));
+        else if (this.movementEncoder.isStationary())
+            this.sendRaw(RawPacketType.ENTITY_LOOK, buffer -> CODEC.writeLook(buffer, this.entityID, yaw, pitch, onGround));
+        else {
+            long deltaX = this.movementEncoder.getDeltaX();
+            long deltaY = this.movementEncoder.getDeltaY();
+            long deltaZ = this.movementEncoder.getDeltaZ();
+            this.sendRaw(RawPacketType.REL_ENTITY_MOVE_LOOK, buffer -> CODEC.writeRelativeMoveLook(buffer, this.entityID, deltaX, deltaY, deltaZ, yaw, pitch, onGround));
+        }
+    }
+
     /**
      * Modifies the player list. <br>
      * <b>Implementation Note: </b> The method was written to add or remove the instance of the NPC's GameProfile and should only be used for that.
      *
-     * @param action the modification that should be performed. Cannot be null.
+     * @param action  the modification that should be performed. Cannot be null.
+     * @param targets the players witch should receive the modification. Cannot be null.
      * @see EnumPlayerInfoAction
      * @see NotNull
      * @since 1.0
      */
-    private void modifyPlayerList(@NotNull EnumPlayerInfoAction action) {
-        PacketPlayOutPlayerInfo packet = new PacketPlayOutPlayerInfo();
+    private void modifyPlayerList(@NotNull EnumPlayerInfoAction action, @NotNull Collection<Player> targets) {
+        this.sendPacket(PlayerInfoBuilder.build(action, this), targets);
+    }
 
-        try {
-            Class<?> dataClass = ClassAccessor.getNMSClass(this.serverVersion, "PacketPlayOutPlayerInfo$PlayerInfoData");
-            Constructor<?> dataConstructor = dataClass.getDeclaredConstructor(PacketPlayOutPlayerInfo.class, GameProfile.class, int.class, IChatBaseComponent.class);
-            Object npcInstance = dataConstructor.newInstance(packet, this.gameProfile, 1, CraftChatMessage.fromString(this.gameProfile.getName())[0]);
+    /**
+     * Sends a packet to all viewers of the NPC.
+     *
+     * @param packet the packet witch should be send. Cannot be null.
+     * @see NotNull
+     * @since 1.0
+     */
+    private void sendPacket(@NotNull Packet<?> packet) {
+        this.sendPacket(packet, this.viewers);
+    }
 
-            @SuppressWarnings("unchecked")
-            List<Object> currentPlayerList = (List<Object>) FieldAccessor.get(packet, "b");
-            currentPlayerList.add(npcInstance);
+    /**
+     * Sends a packet to certain players. The packet is built once and written to each player's channel. <br>
+     * The channels are flushed by the {@link PacketQueue} at the end of the tick.
+     *
+     * @param packet  the packet witch should be send. Cannot be null.
+     * @param targets the players witch should receive the packet. Cannot be null.
+     * @see NotNull
+     * @since 1.1
+     */
+    private void sendPacket(@NotNull Packet<?> packet, @NotNull Collection<Player> targets) {
+        if (targets.size() > 1 && NpcAPI.getApi().isSharedEncoding()) {
+            this.broadcastPacket(packet, targets);
+            return;
+        }
 
-            FieldAccessor.set(packet, "a", action);
-            FieldAccessor.set(packet, "b", currentPlayerList);
+        PacketQueue queue = NpcAPI.getApi().getPacketQueue();
+        for (Player target : targets)
+            queue.write(this.getChannel(target), packet);
+    }
 
-            this.sendPacket(packet);
+    /**
+     * Encodes a packet once and writes the encoded bytes to the channels of certain players. Players whose channel does not use the server's
+     * encoder receive the packet itself.
+     *
+     * @param packet  the packet witch should be send. Cannot be null.
+     * @param targets the players witch should receive the packet. Cannot be null.
+     * @see PacketBroadcaster
+     * @see SneakyThrows
+     * @see NotNull
+     * @since 1.1
+     */
+    @SneakyThrows
+    private void broadcastPacket(@NotNull Packet<?> packet, @NotNull Collection<Player> targets) {
+        List<Channel> channels = this.getChannels(targets);
+        int packetId = EnumProtocol.PLAY.a(EnumProtocolDirection.CLIENTBOUND, packet);
+        PacketBroadcaster.broadcast(channels, ENCODER_TYPE, packetId, buffer -> packet.b(new PacketDataSerializer(buffer)), packet);
+    }
 
-        } catch (Exception exception) {
-            exception.printStackTrace();
-        }
+    /**
+     * Writes a packet with the {@link RawPacketCodec} and sends it to all viewers.
+     *
+     * @param type   the type of the packet. Cannot be null.
+     * @param writer the writer witch serializes the packet's data. Cannot be null.
+     * @see NotNull
+     */
+    private void sendRaw(@NotNull RawPacketType type, @NotNull PacketWriter writer) {
+        this.sendRaw(type, writer, this.viewers);
     }
 
     /**
-     * Sends a packet to the {@code receiver}.
+     * Writes a packet with the {@link RawPacketCodec} once and sends it to several players.
      *
-     * @param packet the packet witch should be send. Cannot be null.
+     * @param type    the type of the packet. Cannot be null.
+     * @param writer  the writer witch serializes the packet's data. Cannot be null.
+     * @param targets the players witch should receive the packet. Cannot be null.
      * @see NotNull
-     * @since 1.0
+     * @see SneakyThrows
      */
-    private void sendPacket(@NotNull Packet<?> packet) {
-        ((CraftPlayer) this.receiver).getHandle().playerConnection.sendPacket(packet);
+    @SneakyThrows
+    private void sendRaw(@NotNull RawPacketType type, @NotNull PacketWriter writer, @NotNull Collection<Player> targets) {
+        PacketBroadcaster.broadcast(this.getChannels(targets), CODEC.getPacketID(type), writer);
     }
 
     /**
-     * Returns the version of the server. It is located in the 'net.minecraft.server' package.
+     * Checks weather the packets to all viewers are written with the {@link RawPacketCodec}.
      *
-     * @return the version of the server
-     * @since 1.0
+     * @return {@code true} if the raw packets are enabled in the {@link NpcAPI} and can be written to all viewers; {@code false} otherwise
+     * @see #isRawPackets(Collection)
+     */
+    private boolean isRawPackets() {
+        return this.isRawPackets(this.viewers);
+    }
+
+    /**
+     * Checks weather the packets to certain players are written with the {@link RawPacketCodec}. The bytes are only written if every player's
+     * channel uses the server's encoder, otherwise the packets of the server are sent, so e.g. ViaVersion can translate them.
+     *
+     * @param targets the players witch should receive the packets. Cannot be null.
+     * @return {@code true} if the raw packets are enabled in the {@link NpcAPI} and can be written to all players; {@code false} otherwise
+     * @see NotNull
+     */
+    private boolean isRawPackets(@NotNull Collection<Player> targets) {
+        return NpcAPI.getApi().isRawPackets() && PacketBroadcaster.canWriteEncoded(this.getChannels(targets), ENCODER_TYPE);
+    }
+
+    /**
+     * Gets the channels of several players.
+     *
+     * @param targets the players. Cannot be null.
+     * @return the channels
+     * @see NotNull
+     */
+    private List<Channel> getChannels(@NotNull Collection<Player> targets) {
+        List<Channel> channels = new ArrayList<>(targets.size());
+        for (Player target : targets)
+            channels.add(this.getChannel(target));
+        return channels;
+    }
+
+    /**
+     * Returns the channel of a player's connection.
+     *
+     * @param player the player. Cannot be null.
+     * @return the channel
+     * @see NotNull
+     * @since 1.1
      */
-    private String getVersionPacket() {
-        final String packageName = Bukkit.getServer().getClass().getPackage().getName();
-        return packageName.substring(packageName.lastIndexOf('.') + 1);
+    private Channel getChannel(@NotNull Player player) {
+        return ((CraftPlayer) player).getHandle().playerConnection.networkManager.channel;
+    }
+
+    /**
+     * Maps each slot of this api to the slot of the server.
+     *
+     * @return the mapped slots
+     */
+    private static Map<NPCEquipmentSlot, EnumItemSlot> createItemSlots() {
+        Map<NPCEquipmentSlot, EnumItemSlot> itemSlots = new EnumMap<>(NPCEquipmentSlot.class);
+        for (NPCEquipmentSlot slot : NPCEquipmentSlot.values())
+            itemSlots.put(slot, EnumItemSlot.fromName(slot.getName()));
+        return itemSlots;
+    }
+
+    /**
+     * Resolves the id of a packet in the play protocol of this version.
+     *
+     * @param type the type of the packet
+     * @return the id of the packet
+     */
+    private static int getPacketID(RawPacketType type) {
+        Packet<?> packet;
+        switch (type) {
+            case ENTITY_TELEPORT:
+                packet = new PacketPlayOutEntityTeleport();
+                break;
+            case ENTITY_LOOK:
+                packet = new PacketPlayOutEntityLook();
+                break;
+            case REL_ENTITY_MOVE_LOOK:
+                packet = new PacketPlayOutRelEntityMoveLook();
+                break;
+            case ENTITY_HEAD_ROTATION:
+                packet = new PacketPlayOutEntityHeadRotation();
+                break;
+            case ENTITY_DESTROY:
+                packet = new PacketPlayOutEntityDestroy();
+                break;
+            case ANIMATION:
+                packet = new PacketPlayOutAnimation();
+                break;
+            case ENTITY_STATUS:
+                packet = new PacketPlayOutEntityStatus();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown packet type " + type);
+        }
+        return EnumProtocol.PLAY.a(EnumProtocolDirection.CLIENTBOUND, packet);
     }
 
 }